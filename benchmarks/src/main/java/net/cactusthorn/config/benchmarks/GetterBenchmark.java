@@ -0,0 +1,79 @@
+/*
+* Copyright (C) 2021, Alexei Khatskevich
+*
+* Licensed under the BSD 3-Clause license.
+* You may obtain a copy of the License at
+*
+* https://github.com/Gmugra/net.cactusthorn.config/blob/main/LICENSE
+*
+* THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+* AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+* IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+* DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+* FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+* DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+* CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+* OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+* OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.cactusthorn.config.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import net.cactusthorn.config.core.ConfigFactory;
+
+/**
+ * Getters of the generated class (typed final fields) against the map-backed getters the compiler generated before.
+ */
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS) @State(Scope.Benchmark) public class GetterBenchmark {
+
+    private BenchmarkConfig fields;
+    private BenchmarkConfig map;
+
+    static BenchmarkConfig create() {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("name", "benchmark");
+        properties.put("port", "8080");
+        properties.put("maxSize", "1048576");
+        properties.put("ratio", "0.75");
+        properties.put("timeout", "30s");
+        properties.put("hosts", "alpha,beta,gamma");
+        return ConfigFactory.builder().setSource(properties).build().create(BenchmarkConfig.class);
+    }
+
+    @Setup public void setUp() {
+        fields = create();
+        map = new MapBackedConfig(fields);
+    }
+
+    @Benchmark public void fields(Blackhole blackhole) {
+        read(fields, blackhole);
+    }
+
+    @Benchmark public void map(Blackhole blackhole) {
+        read(map, blackhole);
+    }
+
+    private static void read(BenchmarkConfig config, Blackhole blackhole) {
+        blackhole.consume(config.name());
+        blackhole.consume(config.port());
+        blackhole.consume(config.enabled());
+        blackhole.consume(config.maxSize());
+        blackhole.consume(config.ratio());
+        blackhole.consume(config.timeout());
+        blackhole.consume(config.hosts());
+        blackhole.consume(config.description());
+    }
+}
@@ -0,0 +1,99 @@
+/*
+* Copyright (C) 2021, Alexei Khatskevich
+*
+* Licensed under the BSD 3-Clause license.
+* You may obtain a copy of the License at
+*
+* https://github.com/Gmugra/net.cactusthorn.config/blob/main/LICENSE
+*
+* THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+* AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+* IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+* DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+* FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+* DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+* CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+* OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+* OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.cactusthorn.config.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import net.cactusthorn.config.core.loader.LoadStrategy;
+
+/**
+ * {@link LoadStrategy#MERGE} (layers over the sources) against copying all sources into one HashMap, as MERGE did
+ * before: large defaults with small overrides. {@code -prof gc} shows the memory of the merge.
+ */
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS) @State(Scope.Benchmark) public class LayeredMapBenchmark {
+
+    private static final int OVERRIDES = 12;
+
+    @Param({"1000", "50000"}) private int defaults;
+
+    private List<Map<String, String>> sources;
+    private String[] keys;
+    private Map<String, String> layered;
+    private Map<String, String> copied;
+
+    @Setup public void setUp() {
+        Map<String, String> defaultSource = new HashMap<>();
+        for (int i = 0; i < defaults; i++) {
+            defaultSource.put("key" + i, "default" + i);
+        }
+        Map<String, String> overrideSource = new HashMap<>();
+        keys = new String[OVERRIDES];
+        for (int i = 0; i < OVERRIDES; i++) {
+            // half of the looked up keys are overridden
+            keys[i] = "key" + i * 2;
+            overrideSource.put("key" + i, "override" + i);
+        }
+        // in precedence order
+        sources = new ArrayList<>();
+        sources.add(Collections.unmodifiableMap(overrideSource));
+        sources.add(Collections.unmodifiableMap(defaultSource));
+        layered = layeredMerge();
+        copied = copyMerge();
+    }
+
+    @Benchmark public Map<String, String> layeredMerge() {
+        return LoadStrategy.MERGE.combine(sources, Collections.emptyMap());
+    }
+
+    @Benchmark public Map<String, String> copyMerge() {
+        Map<String, String> result = new HashMap<>();
+        for (int i = sources.size() - 1; i >= 0; i--) {
+            result.putAll(sources.get(i));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    @Benchmark public void layeredGet(Blackhole blackhole) {
+        for (String key : keys) {
+            blackhole.consume(layered.get(key));
+        }
+    }
+
+    @Benchmark public void copyGet(Blackhole blackhole) {
+        for (String key : keys) {
+            blackhole.consume(copied.get(key));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+* Copyright (C) 2021, Alexei Khatskevich
+*
+* Licensed under the BSD 3-Clause license.
+* You may obtain a copy of the License at
+*
+* https://github.com/Gmugra/net.cactusthorn.config/blob/main/LICENSE
+*
+* THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+* AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+* IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+* DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+* FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+* DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+* CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+* OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+* OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.cactusthorn.config.benchmarks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link BenchmarkConfig} as the compiler generated it before the typed fields: values in a map, every getter is a
+ * lookup, a cast and, for primitives, unboxing.
+ */
+public final class MapBackedConfig implements BenchmarkConfig {
+
+    private static final long serialVersionUID = 0L;
+
+    private final ConcurrentHashMap<String, Object> values = new ConcurrentHashMap<>();
+
+    public MapBackedConfig(BenchmarkConfig config) {
+        values.put("name", config.name());
+        values.put("port", config.port());
+        values.put("enabled", config.enabled());
+        values.put("maxSize", config.maxSize());
+        values.put("ratio", config.ratio());
+        values.put("timeout", config.timeout());
+        values.put("hosts", config.hosts());
+        // Optional is not Serializable: only the value is stored
+        config.description().ifPresent(d -> values.put("description", d));
+    }
+
+    @Override public String name() {
+        return (String) values.get("name");
+    }
+
+    @Override public int port() {
+        return (Integer) values.get("port");
+    }
+
+    @Override public boolean enabled() {
+        return (Boolean) values.get("enabled");
+    }
+
+    @Override public long maxSize() {
+        return (Long) values.get("maxSize");
+    }
+
+    @Override public double ratio() {
+        return (Double) values.get("ratio");
+    }
+
+    @Override public Duration timeout() {
+        return (Duration) values.get("timeout");
+    }
+
+    @SuppressWarnings("unchecked") @Override public List<String> hosts() {
+        return (List<String>) values.get("hosts");
+    }
+
+    @Override public Optional<String> description() {
+        return Optional.ofNullable((String) values.get("description"));
+    }
+}
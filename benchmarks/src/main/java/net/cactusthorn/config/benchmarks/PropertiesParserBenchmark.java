@@ -0,0 +1,80 @@
+/*
+* Copyright (C) 2021, Alexei Khatskevich
+*
+* Licensed under the BSD 3-Clause license.
+* You may obtain a copy of the License at
+*
+* https://github.com/Gmugra/net.cactusthorn.config/blob/main/LICENSE
+*
+* THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+* AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+* IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+* DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+* FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+* DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+* CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+* OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+* OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.cactusthorn.config.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import net.cactusthorn.config.core.util.PropertiesToMapParser;
+
+/**
+ * {@link PropertiesToMapParser} against {@link Properties#load(java.io.Reader)}, the way the built-in loaders read
+ * .properties before.
+ */
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MICROSECONDS) @State(Scope.Benchmark)
+public class PropertiesParserBenchmark {
+
+    // every n-th value has escapes and not ASCII characters; keys are spread over n prefixes
+    private static final int EVERY = 10;
+
+    @Param({"100", "10000"}) private int entries;
+
+    private byte[] content;
+
+    @Setup public void setUp() {
+        StringBuilder buf = new StringBuilder();
+        buf.append("# generated\n");
+        for (int i = 0; i < entries; i++) {
+            buf.append("app.module").append(i % EVERY).append(".key").append(i).append(" = value of the key ").append(i);
+            if (i % EVERY == 0) {
+                buf.append(" äöü \\u00df");
+            }
+            buf.append('\n');
+        }
+        content = buf.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark public Map<String, String> parser() throws IOException {
+        return new PropertiesToMapParser().parse(new ByteArrayInputStream(content), StandardCharsets.UTF_8);
+    }
+
+    @Benchmark public Properties properties() throws IOException {
+        Properties properties = new Properties();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8))) {
+            properties.load(reader);
+        }
+        return properties;
+    }
+}
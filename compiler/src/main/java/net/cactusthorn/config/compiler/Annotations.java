@@ -31,6 +31,7 @@ import net.cactusthorn.config.core.Config;
 import net.cactusthorn.config.core.Default;
 import net.cactusthorn.config.core.Disable;
 import net.cactusthorn.config.core.Key;
+import net.cactusthorn.config.core.Lazy;
 import net.cactusthorn.config.core.Prefix;
 import net.cactusthorn.config.core.Split;
 import net.cactusthorn.config.core.loader.LoadStrategy;
@@ -78,6 +79,10 @@ public class Annotations {
         return Optional.ofNullable(element.getAnnotation(Default.class)).map(a -> a.value());
     }
 
+    public boolean lazy() {
+        return element.getAnnotation(Lazy.class) != null;
+    }
+
     public Optional<String> key() {
         return Optional.ofNullable(element.getAnnotation(Key.class)).map(a -> a.value());
     }
@@ -35,13 +35,17 @@ public final class CompilerMessages {
         RETURN_VOID,
         RETURN_INTERFACES,
         RETURN_ABSTRACT,
+        RETURN_ARRAYS,
         RETURN_INTERFACE_ARG_EMPTY,
         RETURN_INTERFACE_ARG_WILDCARD,
         RETURN_INTERFACE_ARG_INTERFACE,
         RETURN_STRING_CLASS,
         RETURN_OPTIONAL_ARG_EMPTY,
         RETURN_OPTIONAL_ARG_WILDCARD,
-        RETURN_OPTIONAL_DEFAULT
+        RETURN_OPTIONAL_DEFAULT,
+        DEFAULT_WRONG_VALUE,
+        DISABLE_ON_INTERFACE,
+        DISABLE_ON_METHOD
     }
 
     private CompilerMessages() {
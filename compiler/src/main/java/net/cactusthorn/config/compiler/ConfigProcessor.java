@@ -20,23 +20,34 @@
 package net.cactusthorn.config.compiler;
 
 import static net.cactusthorn.config.compiler.CompilerMessages.msg;
+import static net.cactusthorn.config.compiler.CompilerMessages.Key.DISABLE_ON_INTERFACE;
+import static net.cactusthorn.config.compiler.CompilerMessages.Key.DISABLE_ON_METHOD;
 import static net.cactusthorn.config.compiler.CompilerMessages.Key.METHOD_MUST_EXIST;
 import static net.cactusthorn.config.compiler.CompilerMessages.Key.ONLY_INTERFACE;
 
 import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 import net.cactusthorn.config.compiler.configgenerator.ConfigGenerator;
 import net.cactusthorn.config.compiler.configinitgenerator.ConfigBuilderGenerator;
 import net.cactusthorn.config.compiler.methodvalidator.*;
+import net.cactusthorn.config.compiler.registrygenerator.ConfigRegistryGenerator;
 import net.cactusthorn.config.core.Accessible;
 import net.cactusthorn.config.core.Config;
+import net.cactusthorn.config.core.Disable;
+import net.cactusthorn.config.core.util.ConfigRegistry;
 
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.ProcessingEnvironment;
@@ -49,7 +60,10 @@ import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.util.ElementFilter;
 import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
 
+import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.JavaFile;
 
 public final class ConfigProcessor extends AbstractProcessor {
@@ -79,6 +93,7 @@ public final class ConfigProcessor extends AbstractProcessor {
     }
 
     private MethodValidator typeValidator;
+    private final DefaultValueValidator defaultValueValidator = new DefaultValueValidator();
 
     private List<ExecutableElement> objectMethods;
     private List<ExecutableElement> accessibleMethods;
@@ -95,6 +110,7 @@ public final class ConfigProcessor extends AbstractProcessor {
         typeValidator =
             MethodValidatorChain.builder(processingEnv, WithoutParametersValidator.class)
             .next(ReturnVoidValidator.class)
+            .next(ArrayTypeValidator.class)
             .next(InterfaceTypeValidator.class)
             .next(AbstractTypeValidator.class)
             .next(OptionalTypeValidator.class)
@@ -105,8 +121,12 @@ public final class ConfigProcessor extends AbstractProcessor {
         // @formatter:on
     }
 
+    private final Map<String, Integer> packageRegistries = new HashMap<>();
+    private final Set<String> registries = new LinkedHashSet<>();
+
     @Override public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
         try {
+            Map<String, List<ClassName>> roundInterfaces = new TreeMap<>();
             Set<? extends Element> elements = roundEnv.getElementsAnnotatedWith(Config.class);
             for (Element element : elements) {
                 validateInterface(element);
@@ -120,7 +140,7 @@ public final class ConfigProcessor extends AbstractProcessor {
                      .stream()
                      .filter(e -> !objectMethods.contains(e))
                      .filter(e -> !(interfaceInfo.accessible() && accessibleMethods.contains(e)))
-                     .map(m -> typeValidator.validate(m, m.getReturnType()).withInterfaceInfo(interfaceInfo))
+                     .map(m -> validateMethod(m, interfaceInfo))
                      .sorted(METHODINFO_COMPARATOR)
                      .collect(Collectors.toList());
                 // @formatter:on
@@ -134,6 +154,15 @@ public final class ConfigProcessor extends AbstractProcessor {
                 JavaFile configFile = new ConfigGenerator(interfaceTypeElement, methodsInfo, interfaceInfo).generate();
                 //System.out.println(configFile.toString());
                 configFile.writeTo(processingEnv.getFiler());
+
+                ClassName interfaceName = ClassName.get(interfaceTypeElement);
+                roundInterfaces.computeIfAbsent(interfaceName.packageName(), p -> new ArrayList<>()).add(interfaceName);
+            }
+            for (Map.Entry<String, List<ClassName>> entry : roundInterfaces.entrySet()) {
+                generateRegistry(entry.getKey(), entry.getValue());
+            }
+            if (roundEnv.processingOver() && !registries.isEmpty()) {
+                writeRegistryService();
             }
         } catch (ProcessorException e) {
             if (e.getAnnotationMirror() != null) {
@@ -147,10 +176,43 @@ public final class ConfigProcessor extends AbstractProcessor {
         return true;
     }
 
+    // Registry is generated per package, because the interfaces can be package-private
+    private void generateRegistry(String packageName, List<ClassName> interfaces) throws IOException {
+        int index = packageRegistries.merge(packageName, 1, Integer::sum);
+        String simpleName = ConfigRegistry.REGISTRY_CLASSNAME + (index == 1 ? "" : String.valueOf(index));
+        ClassName registryName = ClassName.get(packageName, simpleName);
+        new ConfigRegistryGenerator(registryName, interfaces).generate().writeTo(processingEnv.getFiler());
+        registries.add(registryName.reflectionName());
+    }
+
+    private void writeRegistryService() throws IOException {
+        FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                "META-INF/services/" + ConfigRegistry.class.getName());
+        try (Writer writer = file.openWriter()) {
+            for (String registry : registries) {
+                writer.write(registry);
+                writer.write('\n');
+            }
+        }
+    }
+
+    private MethodInfo validateMethod(ExecutableElement methodElement, InterfaceInfo interfaceInfo) {
+        validateDisable(methodElement, Disable.Feature.EAGER_HASHCODE, DISABLE_ON_METHOD);
+        MethodInfo methodInfo = typeValidator.validate(methodElement, methodElement.getReturnType()).withInterfaceInfo(interfaceInfo);
+        return defaultValueValidator.validate(methodElement, methodInfo);
+    }
+
     private void validateInterface(Element element) {
         if (element.getKind() != ElementKind.INTERFACE) {
             throw new ProcessorException(msg(ONLY_INTERFACE), element);
         }
+        validateDisable(element, Disable.Feature.PREFIX, DISABLE_ON_INTERFACE);
+    }
+
+    private void validateDisable(Element element, Disable.Feature unsupported, CompilerMessages.Key key) {
+        if (new Annotations(element).disable().contains(unsupported)) {
+            throw new ProcessorException(msg(key, unsupported), element);
+        }
     }
 
     private void validateMethodExist(Element element, List<MethodInfo> methodsInfo) {
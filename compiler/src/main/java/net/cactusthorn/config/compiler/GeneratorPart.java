@@ -21,7 +21,6 @@ package net.cactusthorn.config.compiler;
 
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.ParameterizedTypeName;
@@ -32,7 +31,6 @@ public interface GeneratorPart {
 
     ClassName SET = ClassName.get(Set.class);
     ClassName MAP = ClassName.get(Map.class);
-    ClassName CONCURRENTHASHMAP = ClassName.get(ConcurrentHashMap.class);
 
     ClassName OBJECT = ClassName.get(Object.class);
     ClassName STRING = ClassName.get(String.class);
@@ -40,10 +38,12 @@ public interface GeneratorPart {
     TypeName SET_STRING = ParameterizedTypeName.get(SET, STRING);
     TypeName MAP_STRING_OBJECT = ParameterizedTypeName.get(MAP, STRING, OBJECT);
     TypeName MAP_STRING_STRING = ParameterizedTypeName.get(MAP, STRING, STRING);
-    TypeName CONCURRENTHASHMAP_STRING_OBJECT = ParameterizedTypeName.get(CONCURRENTHASHMAP, STRING, OBJECT);
 
-    String VALUES_ATTR = "VALUES";
+    String KEYS_ATTR = "KEYS";
     String URIS_ATTR = "URIS";
+    String HASH_CODE_ATTR = "$hashCode";
+    String TO_STRING_ATTR = "$toString";
+    String AS_MAP_ATTR = "$asMap";
 
     void addPart(TypeSpec.Builder classBuilder, Generator generator);
 }
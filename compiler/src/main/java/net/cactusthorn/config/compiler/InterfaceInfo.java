@@ -24,6 +24,7 @@ import static net.cactusthorn.config.core.Split.DEFAULT_SPLIT;
 
 import java.io.Serializable;
 import java.util.Optional;
+import java.util.Set;
 
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.ElementKind;
@@ -33,6 +34,7 @@ import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 
 import net.cactusthorn.config.core.Accessible;
+import net.cactusthorn.config.core.Disable;
 
 public final class InterfaceInfo {
 
@@ -41,12 +43,16 @@ public final class InterfaceInfo {
     private final Optional<Long> serialVersionUID;
     private final boolean accessible;
     private final Annotations.ConfigInfo configInfo;
+    private final Set<Disable.Feature> disabledFeatures;
+    private final boolean lazy;
 
     InterfaceInfo(ProcessingEnvironment processingEnv, TypeElement interfaceTypeElement) {
         Annotations a = new Annotations(interfaceTypeElement);
         prefix = a.prefix().map(s -> s + KEY_SEPARATOR).orElse("");
         split = a.split().orElse(DEFAULT_SPLIT);
         configInfo = a.config();
+        disabledFeatures = a.disable();
+        lazy = a.lazy();
         serialVersionUID = findSerializable(processingEnv, interfaceTypeElement);
         accessible = findAccessible(processingEnv, interfaceTypeElement);
     }
@@ -71,6 +77,14 @@ public final class InterfaceInfo {
         return configInfo;
     }
 
+    public Set<Disable.Feature> disabledFeatures() {
+        return disabledFeatures;
+    }
+
+    public boolean lazy() {
+        return lazy;
+    }
+
     private boolean findAccessible(ProcessingEnvironment processingEnv, TypeElement interfaceTypeElement) {
         TypeMirror accessibleType = processingEnv.getElementUtils().getTypeElement(Accessible.class.getName()).asType();
         return processingEnv.getTypeUtils().isAssignable(interfaceTypeElement.asType(), accessibleType);
@@ -0,0 +1,49 @@
+/*
+* Copyright (C) 2021, Alexei Khatskevich
+*
+* Licensed under the BSD 3-Clause license.
+* You may obtain a copy of the License at
+*
+* https://github.com/Gmugra/net.cactusthorn.config/blob/main/LICENSE
+*
+* THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+* AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+* IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+* DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+* FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+* DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+* CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+* OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+* OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.cactusthorn.config.compiler;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import javax.lang.model.element.Modifier;
+
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.TypeSpec;
+
+// the keys (with prefix) the interface reads: only them are selected from the loaded sources;
+// shared by the builder and by the accessible config
+public class KeysPart implements GeneratorPart {
+
+    @Override public void addPart(TypeSpec.Builder classBuilder, Generator generator) {
+        CodeBlock.Builder keys = CodeBlock.builder();
+        for (int i = 0; i < generator.methodsInfo().size(); i++) {
+            if (i != 0) {
+                keys.add(", ");
+            }
+            keys.add("$S", generator.methodsInfo().get(i).key());
+        }
+        FieldSpec fieldSpec = FieldSpec.builder(SET_STRING, KEYS_ATTR, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("$T.unmodifiableSet(new $T<>($T.asList($L)))", Collections.class, HashSet.class, Arrays.class, keys.build())
+                .build();
+        classBuilder.addField(fieldSpec);
+    }
+}
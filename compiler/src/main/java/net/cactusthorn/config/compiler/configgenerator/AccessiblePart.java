@@ -20,41 +20,80 @@
 package net.cactusthorn.config.compiler.configgenerator;
 
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import javax.lang.model.element.Modifier;
 
+import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.TypeSpec;
 
 import net.cactusthorn.config.compiler.Generator;
 import net.cactusthorn.config.compiler.GeneratorPart;
+import net.cactusthorn.config.compiler.KeysPart;
+import net.cactusthorn.config.compiler.methodvalidator.MethodInfo;
 
 public class AccessiblePart implements GeneratorPart {
 
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final GeneratorPart KEYS = new KeysPart();
+
     @Override public void addPart(TypeSpec.Builder classBuilder, Generator generator) {
         if (!generator.interfaceInfo().accessible()) {
             return;
         }
+        KEYS.addPart(classBuilder, generator);
         addKeys(classBuilder);
-        addGet(classBuilder);
-        addAsMap(classBuilder);
+        addGet(classBuilder, generator);
+        addAsMap(classBuilder, generator);
     }
 
     private void addKeys(TypeSpec.Builder classBuilder) {
         MethodSpec.Builder keysBuilder = MethodSpec.methodBuilder("keys").addModifiers(Modifier.PUBLIC).addAnnotation(Override.class)
-                .returns(SET_STRING).addStatement("return $T.unmodifiableSet($L.keySet())", Collections.class, VALUES_ATTR);
+                .returns(SET_STRING).addStatement("return $L", KEYS_ATTR);
         classBuilder.addMethod(keysBuilder.build());
     }
 
-    private void addGet(TypeSpec.Builder classBuilder) {
-        MethodSpec.Builder keysBuilder = MethodSpec.methodBuilder("get").addModifiers(Modifier.PUBLIC).addAnnotation(Override.class)
-                .returns(Object.class).addParameter(String.class, "key").addStatement("return $L.get(key)", VALUES_ATTR);
-        classBuilder.addMethod(keysBuilder.build());
+    private void addGet(TypeSpec.Builder classBuilder, Generator generator) {
+        MethodSpec.Builder getBuilder = MethodSpec.methodBuilder("get").addModifiers(Modifier.PUBLIC).addAnnotation(Override.class)
+                .returns(Object.class).addParameter(String.class, "key").beginControlFlow("switch (key)");
+        distinctKeys(generator).forEach(mi -> {
+            getBuilder.addCode("case $S:\n", mi.key()).addStatement("$>return $L()$<", mi.name());
+        });
+        getBuilder.addCode("default:\n").addStatement("$>return null$<").endControlFlow();
+        classBuilder.addMethod(getBuilder.build());
     }
 
-    private void addAsMap(TypeSpec.Builder classBuilder) {
-        MethodSpec.Builder keysBuilder = MethodSpec.methodBuilder("asMap").addModifiers(Modifier.PUBLIC).addAnnotation(Override.class)
-                .returns(MAP_STRING_OBJECT).addStatement("return $T.unmodifiableMap($L)", Collections.class, VALUES_ATTR);
-        classBuilder.addMethod(keysBuilder.build());
+    // the config is immutable, so the map is built once; volatile, because the HashMap inside is not safely published otherwise.
+    // Arrays are mutable: with them, every call gets own map with own copies of the arrays (as the getters do)
+    private void addAsMap(TypeSpec.Builder classBuilder, Generator generator) {
+        List<MethodInfo> methods = distinctKeys(generator);
+        boolean cached = methods.stream().noneMatch(mi -> mi.returnArrayComponent().isPresent());
+        MethodSpec.Builder asMapBuilder = MethodSpec.methodBuilder("asMap").addModifiers(Modifier.PUBLIC).addAnnotation(Override.class)
+                .returns(MAP_STRING_OBJECT);
+        if (cached) {
+            classBuilder.addField(
+                    FieldSpec.builder(MAP_STRING_OBJECT, AS_MAP_ATTR, Modifier.PRIVATE, Modifier.TRANSIENT, Modifier.VOLATILE).build());
+            asMapBuilder.addStatement("$T result = $L", MAP_STRING_OBJECT, AS_MAP_ATTR).beginControlFlow("if (result == null)");
+        }
+        asMapBuilder.addStatement("$T values = new $T<>($L)", MAP_STRING_OBJECT, HashMap.class, (int) (methods.size() / LOAD_FACTOR) + 1);
+        methods.forEach(mi -> asMapBuilder.addStatement("values.put($S, $L())", mi.key(), mi.name()));
+        if (cached) {
+            asMapBuilder.addStatement("result = $T.unmodifiableMap(values)", Collections.class).addStatement("$L = result", AS_MAP_ATTR)
+                    .endControlFlow().addStatement("return result");
+        } else {
+            asMapBuilder.addStatement("return $T.unmodifiableMap(values)", Collections.class);
+        }
+        classBuilder.addMethod(asMapBuilder.build());
+    }
+
+    // Several methods can have the same key, but switch can't contain duplicate labels: the first method wins
+    private List<MethodInfo> distinctKeys(Generator generator) {
+        Set<String> keys = new HashSet<>();
+        return generator.methodsInfo().stream().filter(mi -> keys.add(mi.key())).collect(Collectors.toList());
     }
 }
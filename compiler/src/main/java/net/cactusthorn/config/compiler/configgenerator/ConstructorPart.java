@@ -21,11 +21,15 @@ package net.cactusthorn.config.compiler.configgenerator;
 
 import javax.lang.model.element.Modifier;
 
+import com.squareup.javapoet.AnnotationSpec;
 import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeSpec;
 
 import net.cactusthorn.config.compiler.Generator;
 import net.cactusthorn.config.compiler.GeneratorPart;
+import net.cactusthorn.config.compiler.methodvalidator.MethodInfo;
+import net.cactusthorn.config.core.Disable;
 import net.cactusthorn.config.core.loader.Loaders;
 import net.cactusthorn.config.core.util.ConfigInitializer;
 
@@ -42,8 +46,19 @@ final class ConstructorPart implements GeneratorPart {
                     ConfigInitializer.INITIALIZER_CLASSNAME_PREFIX,
                     generator.interfaceName().simpleName()
             )
-            .addStatement("$L.putAll(initializer.initialize())", VALUES_ATTR);
+            .addStatement("$T values = initializer.initialize()", MAP_STRING_OBJECT);
         // @formatter:on
+        generator.methodsInfo().forEach(mi -> {
+            constructorBuilder.addStatement("this.$L = ($T) values.get($S)", mi.name(), FieldsPart.fieldType(mi), mi.key());
+        });
+        // eager hashCode would convert all lazy values
+        if (!generator.interfaceInfo().disabledFeatures().contains(Disable.Feature.EAGER_HASHCODE)
+                && generator.methodsInfo().stream().noneMatch(MethodInfo::lazy)) {
+            constructorBuilder.addStatement("hashCode()");
+        }
+        if (generator.methodsInfo().stream().anyMatch(mi -> FieldsPart.fieldType(mi) instanceof ParameterizedTypeName)) {
+            constructorBuilder.addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "unchecked").build());
+        }
         classBuilder.addMethod(constructorBuilder.build());
     }
 }
@@ -19,17 +19,29 @@
 */
 package net.cactusthorn.config.compiler.configgenerator;
 
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Objects;
+
 import javax.lang.model.element.Modifier;
 
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 
 import net.cactusthorn.config.compiler.Generator;
 import net.cactusthorn.config.compiler.GeneratorPart;
+import net.cactusthorn.config.compiler.methodvalidator.MethodInfo;
+import net.cactusthorn.config.core.util.Equality;
 
 final class EqualsPart implements GeneratorPart {
 
+    private static final ClassName URL_TYPE = ClassName.get(URL.class);
+
     @Override public void addPart(TypeSpec.Builder classBuilder, Generator generator) {
         // @formatter:off
         MethodSpec.Builder equalsBuilder =
@@ -40,16 +52,38 @@ final class EqualsPart implements GeneratorPart {
             .addParameter(ParameterSpec.builder(Object.class, "o").build())
             .addStatement("if (o == this) return true")
             .addStatement("if (!(o instanceof $L)) return false", generator.className())
-            .addStatement("$L other = ($L) o", generator.className(), generator.className());
+            .addStatement("$L other = ($L) o", generator.className(), generator.className())
+            .addStatement("if ($L != 0 && other.$L != 0 && $L != other.$L) return false",
+                    HASH_CODE_ATTR, HASH_CODE_ATTR, HASH_CODE_ATTR, HASH_CODE_ATTR);
         // @formatter:on
         generator.methodsInfo().forEach(mi -> {
-            if (mi.returnTypeName().isPrimitive()) {
-                equalsBuilder.addStatement("if (this.$L() != other.$L()) return false", mi.name(), mi.name());
+            CodeBlock value = FieldsPart.fieldValue("this", mi);
+            CodeBlock otherValue = FieldsPart.fieldValue("other", mi);
+            if (mi.returnArrayComponent().isPresent()) {
+                String orElse = mi.returnOptional() ? ".orElse(null)" : "";
+                equalsBuilder.addStatement("if (!$T.equals($L$L, $L$L)) return false", Arrays.class, value, orElse, otherValue, orElse);
+            } else if (mi.returnTypeName().isPrimitive() && !mi.lazy()) {
+                equalsBuilder.addStatement("if ($L != $L) return false", value, otherValue);
+            } else if (resolvesHost(mi)) {
+                equalsBuilder.addStatement("if (!$T.equals($L, $L)) return false", Equality.class, value, otherValue);
             } else {
-                equalsBuilder.addStatement("if (!this.$L().equals(other.$L())) return false", mi.name(), mi.name());
+                equalsBuilder.addStatement("if (!$T.equals($L, $L)) return false", Objects.class, value, otherValue);
             }
         });
         equalsBuilder.addStatement("return true");
         classBuilder.addMethod(equalsBuilder.build());
     }
+
+    // URL.equals and URL.hashCode do blocking host name resolution; Equality handles URL inside of any supported
+    // return type (Optional, List, Set, SortedSet, Map, SortedMap)
+    static boolean resolvesHost(MethodInfo mi) {
+        return containsUrl(mi.returnTypeName());
+    }
+
+    private static boolean containsUrl(TypeName typeName) {
+        if (typeName instanceof ParameterizedTypeName) {
+            return ((ParameterizedTypeName) typeName).typeArguments.stream().anyMatch(EqualsPart::containsUrl);
+        }
+        return URL_TYPE.equals(typeName);
+    }
 }
@@ -0,0 +1,201 @@
+/*
+* Copyright (C) 2021, Alexei Khatskevich
+*
+* Licensed under the BSD 3-Clause license.
+* You may obtain a copy of the License at
+*
+* https://github.com/Gmugra/net.cactusthorn.config/blob/main/LICENSE
+*
+* THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+* AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+* IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+* DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+* FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+* DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+* CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+* OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+* OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.cactusthorn.config.compiler.configgenerator;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.lang.model.element.Modifier;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+import net.cactusthorn.config.compiler.Generator;
+import net.cactusthorn.config.compiler.GeneratorPart;
+import net.cactusthorn.config.compiler.methodvalidator.MethodInfo;
+import net.cactusthorn.config.core.util.Externalization;
+import net.cactusthorn.config.core.util.LazyValue;
+
+/**
+ * Serialization proxy: the fields are written positionally (primitives as raw values) by a nested {@link Externalizable}.
+ * Positional data of other version of the interface can't be read, so the fingerprint of the fields (names and types,
+ * calculated at compile time) is written first and checked before the reading.
+ */
+final class ExternalizablePart implements GeneratorPart {
+
+    private static final String PROXY_CLASSNAME = "Externalized";
+    private static final String CONFIG_ATTR = "config";
+    private static final String FINGERPRINT_ATTR = "FINGERPRINT";
+
+    // FNV-1a, 64 bit
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final Map<TypeName, String> SUFFIXES = new HashMap<>();
+    static {
+        SUFFIXES.put(TypeName.INT, "Int");
+        SUFFIXES.put(TypeName.LONG, "Long");
+        SUFFIXES.put(TypeName.DOUBLE, "Double");
+        SUFFIXES.put(TypeName.FLOAT, "Float");
+        SUFFIXES.put(TypeName.BOOLEAN, "Boolean");
+        SUFFIXES.put(TypeName.CHAR, "Char");
+        SUFFIXES.put(TypeName.BYTE, "Byte");
+        SUFFIXES.put(TypeName.SHORT, "Short");
+        SUFFIXES.put(STRING, "String");
+    }
+
+    @Override public void addPart(TypeSpec.Builder classBuilder, Generator generator) {
+        generator.interfaceInfo().serialVersionUID().ifPresent(svuid -> {
+            ClassName configName = ClassName.get(generator.packageName(), generator.className());
+            ClassName proxyName = configName.nestedClass(PROXY_CLASSNAME);
+
+            classBuilder.addField(FieldSpec.builder(TypeName.LONG, FINGERPRINT_ATTR, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                    .initializer("$LL", fingerprint(generator)).build());
+
+            MethodSpec.Builder constructorBuilder = MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE)
+                    .addParameter(ObjectInput.class, "in").addException(IOException.class).addException(ClassNotFoundException.class)
+                    .addStatement("$T.checkFingerprint(in, $L, $S)", Externalization.class, FINGERPRINT_ATTR, configName.canonicalName());
+            MethodSpec.Builder writeBuilder = MethodSpec.methodBuilder("writeExternal").addModifiers(Modifier.PRIVATE)
+                    .addParameter(ObjectOutput.class, "out").addException(IOException.class)
+                    .addStatement("out.writeLong($L)", FINGERPRINT_ATTR);
+            generator.methodsInfo().forEach(mi -> {
+                constructorBuilder.addStatement("this.$L = $L", mi.name(), read(mi));
+                writeBuilder.addStatement(write(mi));
+            });
+            classBuilder.addMethod(constructorBuilder.build()).addMethod(writeBuilder.build());
+
+            classBuilder.addMethod(MethodSpec.methodBuilder("writeReplace").addModifiers(Modifier.PRIVATE).returns(Object.class)
+                    .addStatement("return new $T(this)", proxyName).build());
+            classBuilder.addMethod(MethodSpec.methodBuilder("readObject").addModifiers(Modifier.PRIVATE)
+                    .addParameter(ObjectInputStream.class, "in").addException(InvalidObjectException.class)
+                    .addStatement("throw new $T($S)", InvalidObjectException.class, "Serialization proxy required").build());
+
+            classBuilder.addType(proxy(configName, proxyName, svuid));
+        });
+    }
+
+    private long fingerprint(Generator generator) {
+        long hash = FNV_OFFSET_BASIS;
+        for (MethodInfo mi : generator.methodsInfo()) {
+            String field = mi.name() + ':' + mi.returnTypeName() + ';';
+            for (int i = 0; i < field.length(); i++) {
+                hash ^= field.charAt(i);
+                hash *= FNV_PRIME;
+            }
+        }
+        return hash;
+    }
+
+    // @formatter:off
+    private TypeSpec proxy(ClassName configName, ClassName proxyName, long svuid) {
+        return TypeSpec.classBuilder(proxyName)
+            .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+            .addSuperinterface(Externalizable.class)
+            .addField(FieldSpec.builder(TypeName.LONG, "serialVersionUID", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("$LL", svuid).build())
+            .addField(configName, CONFIG_ATTR, Modifier.PRIVATE)
+            .addMethod(MethodSpec.constructorBuilder().addModifiers(Modifier.PUBLIC).build())
+            .addMethod(MethodSpec.constructorBuilder()
+                .addParameter(configName, CONFIG_ATTR)
+                .addStatement("this.$L = $L", CONFIG_ATTR, CONFIG_ATTR).build())
+            .addMethod(MethodSpec.methodBuilder("writeExternal")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .addParameter(ObjectOutput.class, "out")
+                .addException(IOException.class)
+                .addStatement("$L.writeExternal(out)", CONFIG_ATTR).build())
+            .addMethod(MethodSpec.methodBuilder("readExternal")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .addParameter(ObjectInput.class, "in")
+                .addException(IOException.class)
+                .addException(ClassNotFoundException.class)
+                .addStatement("$L = new $T(in)", CONFIG_ATTR, configName).build())
+            .addMethod(MethodSpec.methodBuilder("readResolve")
+                .addModifiers(Modifier.PRIVATE)
+                .returns(Object.class)
+                .addStatement("return $L", CONFIG_ATTR).build())
+            .build();
+    }
+    // @formatter:on
+
+    private CodeBlock write(MethodInfo mi) {
+        CodeBlock value = FieldsPart.fieldValue("this", mi);
+        TypeName type = mi.returnTypeName();
+        if (type.isPrimitive()) {
+            return CodeBlock.of("out.write$L($L)", SUFFIXES.get(type), value);
+        }
+        if (mi.returnOptional()) {
+            TypeName argument = optionalArgument(type);
+            TypeName owner = compact(mi, argument) ? ClassName.get(Externalization.class) : ClassName.get(ObjectOutput.class);
+            return CodeBlock.of("$T.writeOptional(out, $L, $T::write$L)", Externalization.class, value, owner, suffix(mi, argument));
+        }
+        if (compact(mi, type)) {
+            return CodeBlock.of("$T.write$L(out, $L)", Externalization.class, suffix(mi, type), value);
+        }
+        return CodeBlock.of("out.writeObject($L)", value);
+    }
+
+    private CodeBlock read(MethodInfo mi) {
+        TypeName type = mi.returnTypeName();
+        CodeBlock value;
+        if (type.isPrimitive()) {
+            value = CodeBlock.of("in.read$L()", SUFFIXES.get(type));
+        } else if (mi.returnOptional()) {
+            value = CodeBlock.of("$T.readOptional(in, $T::read$L)", Externalization.class, Externalization.class,
+                    suffix(mi, optionalArgument(type)));
+        } else {
+            value = CodeBlock.of("$T.read$L(in)", Externalization.class, suffix(mi, type));
+        }
+        if (mi.lazy()) {
+            return CodeBlock.of("new $T<>($L)", LazyValue.class, value);
+        }
+        return value;
+    }
+
+    private boolean compact(MethodInfo mi, TypeName type) {
+        return mi.returnArrayComponent().isPresent() || STRING.equals(type);
+    }
+
+    private String suffix(MethodInfo mi, TypeName type) {
+        if (mi.returnArrayComponent().isPresent()) {
+            return SUFFIXES.get(mi.returnArrayComponent().get()) + "Array";
+        }
+        if (STRING.equals(type)) {
+            return SUFFIXES.get(STRING);
+        }
+        return "Object";
+    }
+
+    private TypeName optionalArgument(TypeName type) {
+        return ((ParameterizedTypeName) type).typeArguments.get(0);
+    }
+}
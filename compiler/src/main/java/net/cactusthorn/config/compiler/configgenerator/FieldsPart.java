@@ -0,0 +1,58 @@
+/*
+* Copyright (C) 2021, Alexei Khatskevich
+*
+* Licensed under the BSD 3-Clause license.
+* You may obtain a copy of the License at
+*
+* https://github.com/Gmugra/net.cactusthorn.config/blob/main/LICENSE
+*
+* THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+* AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+* IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+* DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+* FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+* DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+* CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+* OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+* OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.cactusthorn.config.compiler.configgenerator;
+
+import javax.lang.model.element.Modifier;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+import net.cactusthorn.config.compiler.Generator;
+import net.cactusthorn.config.compiler.GeneratorPart;
+import net.cactusthorn.config.compiler.methodvalidator.MethodInfo;
+import net.cactusthorn.config.core.util.LazyValue;
+
+final class FieldsPart implements GeneratorPart {
+
+    @Override public void addPart(TypeSpec.Builder classBuilder, Generator generator) {
+        generator.methodsInfo().forEach(mi -> {
+            FieldSpec fieldSpec = FieldSpec.builder(fieldType(mi), mi.name(), Modifier.PRIVATE, Modifier.FINAL).build();
+            classBuilder.addField(fieldSpec);
+        });
+    }
+
+    static TypeName fieldType(MethodInfo mi) {
+        if (mi.lazy()) {
+            return ParameterizedTypeName.get(ClassName.get(LazyValue.class), mi.returnTypeName().box());
+        }
+        return mi.returnTypeName();
+    }
+
+    static CodeBlock fieldValue(String owner, MethodInfo mi) {
+        if (mi.lazy()) {
+            return CodeBlock.of("$L.$L.get()", owner, mi.name());
+        }
+        return CodeBlock.of("$L.$L", owner, mi.name());
+    }
+}
@@ -21,7 +21,8 @@ package net.cactusthorn.config.compiler.configgenerator;
 
 import javax.lang.model.element.Modifier;
 
-import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.TypeSpec;
 
@@ -41,11 +42,21 @@ final class GettersPart implements GeneratorPart {
             MethodSpec.methodBuilder(methodInfo.name())
             .addModifiers(Modifier.PUBLIC)
             .addAnnotation(Override.class)
-            .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "unchecked").build())
             .returns(methodInfo.returnTypeName())
-            .addStatement("return ($T)$L.get($S)", methodInfo.returnTypeName(), VALUES_ATTR, methodInfo.key())
+            .addStatement("return $L", value(methodInfo))
             .build();
         // @formatter:on
         classBuilder.addMethod(getter);
     }
+
+    // arrays are mutable: each call get own copy
+    private CodeBlock value(MethodInfo methodInfo) {
+        CodeBlock field = FieldsPart.fieldValue("this", methodInfo);
+        return methodInfo.returnArrayComponent().map(c -> {
+            if (methodInfo.returnOptional()) {
+                return CodeBlock.of("$L.map($T::clone)", field, ArrayTypeName.of(c));
+            }
+            return CodeBlock.of("$L.clone()", field);
+        }).orElse(field);
+    }
 }
@@ -19,30 +19,53 @@
 */
 package net.cactusthorn.config.compiler.configgenerator;
 
+import java.util.Arrays;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 import javax.lang.model.element.Modifier;
 
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 
 import net.cactusthorn.config.compiler.Generator;
 import net.cactusthorn.config.compiler.GeneratorPart;
+import net.cactusthorn.config.compiler.methodvalidator.MethodInfo;
+import net.cactusthorn.config.core.util.Equality;
 
 final class HashCodePart implements GeneratorPart {
 
     @Override public void addPart(TypeSpec.Builder classBuilder, Generator generator) {
-        String parameters = generator.methodsInfo().stream().map(mi -> mi.name() + "()").collect(Collectors.joining(", "));
+        classBuilder.addField(FieldSpec.builder(TypeName.INT, HASH_CODE_ATTR, Modifier.PRIVATE, Modifier.TRANSIENT).build());
         // @formatter:off
-        MethodSpec hashCode =
+        MethodSpec.Builder hashCodeBuilder =
             MethodSpec.methodBuilder("hashCode")
             .addModifiers(Modifier.PUBLIC)
             .addAnnotation(Override.class)
             .returns(int.class)
-            .addStatement("return $T.hash($L)", Objects.class, parameters)
-            .build();
+            .addStatement("int result = $L", HASH_CODE_ATTR)
+            .beginControlFlow("if (result == 0)")
+            .addStatement("result = 1");
         // @formatter:on
-        classBuilder.addMethod(hashCode);
+        generator.methodsInfo().forEach(mi -> hashCodeBuilder.addStatement("result = 31 * result + $L", hash(mi)));
+        hashCodeBuilder.addStatement("$L = result", HASH_CODE_ATTR).endControlFlow().addStatement("return result");
+        classBuilder.addMethod(hashCodeBuilder.build());
+    }
+
+    // same result as Objects.hash(...), but without varargs array and boxing
+    private CodeBlock hash(MethodInfo mi) {
+        CodeBlock value = FieldsPart.fieldValue("this", mi);
+        if (mi.returnArrayComponent().isPresent()) {
+            return CodeBlock.of("$T.hashCode($L$L)", Arrays.class, value, mi.returnOptional() ? ".orElse(null)" : "");
+        }
+        if (mi.returnTypeName().isPrimitive()) {
+            return CodeBlock.of("$T.hashCode($L)", mi.returnTypeName().box(), value);
+        }
+        if (EqualsPart.resolvesHost(mi)) {
+            return CodeBlock.of("$T.hashCode($L)", Equality.class, value);
+        }
+        return CodeBlock.of("$T.hashCode($L)", Objects.class, value);
     }
 }
@@ -19,8 +19,12 @@
 */
 package net.cactusthorn.config.compiler.configgenerator;
 
+import java.util.Arrays;
+
 import javax.lang.model.element.Modifier;
 
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.TypeSpec;
 
@@ -33,12 +37,15 @@ final class ToStringPart implements GeneratorPart {
     private static final String BUF_NAME = "buf";
 
     @Override public void addPart(TypeSpec.Builder classBuilder, Generator generator) {
+        classBuilder.addField(FieldSpec.builder(String.class, TO_STRING_ATTR, Modifier.PRIVATE, Modifier.TRANSIENT).build());
         // @formatter:off
         MethodSpec.Builder toStringBuilder =
             MethodSpec.methodBuilder("toString")
             .addModifiers(Modifier.PUBLIC)
             .addAnnotation(Override.class)
             .returns(String.class)
+            .addStatement("$T result = $L", String.class, TO_STRING_ATTR)
+            .beginControlFlow("if (result == null)")
             .addStatement("$T $L = new $T()", StringBuilder.class, BUF_NAME, StringBuilder.class)
             .addStatement("$L.append('[')", BUF_NAME);
         // @formatter:on
@@ -47,12 +54,22 @@ final class ToStringPart implements GeneratorPart {
                 toStringBuilder.addStatement("$L.append($S)", BUF_NAME, ", ");
             }
             MethodInfo mi = generator.methodsInfo().get(i);
-            toStringBuilder.addStatement("$L.append($S).append('=').append($T.valueOf($L.get($S)))", BUF_NAME, mi.name(), String.class,
-                    VALUES_ATTR, mi.key());
+            toStringBuilder.addStatement("$L.append($S).append('=').append($T.valueOf($L))", BUF_NAME, mi.name(), String.class,
+                    value(mi));
         }
         toStringBuilder.addStatement("$L.append(']')", BUF_NAME);
-        toStringBuilder.addStatement("return $L.toString()", BUF_NAME);
+        toStringBuilder.addStatement("result = $L.toString()", BUF_NAME);
+        toStringBuilder.addStatement("$L = result", TO_STRING_ATTR).endControlFlow().addStatement("return result");
         classBuilder.addMethod(toStringBuilder.build());
     }
 
+    private CodeBlock value(MethodInfo mi) {
+        CodeBlock value = FieldsPart.fieldValue("this", mi);
+        return mi.returnArrayComponent().map(c -> {
+            if (mi.returnOptional()) {
+                return CodeBlock.of("$L.map($T::toString)", value, Arrays.class);
+            }
+            return CodeBlock.of("$T.toString($L)", Arrays.class, value);
+        }).orElse(value);
+    }
 }
@@ -30,12 +30,14 @@ import com.squareup.javapoet.TypeSpec;
 import net.cactusthorn.config.compiler.Generator;
 import net.cactusthorn.config.compiler.GeneratorPart;
 import net.cactusthorn.config.compiler.InterfaceInfo;
+import net.cactusthorn.config.compiler.KeysPart;
 import net.cactusthorn.config.compiler.methodvalidator.MethodInfo;
 import net.cactusthorn.config.core.util.ConfigInitializer;
 
 public final class ConfigBuilderGenerator extends Generator {
 
-    private static final List<GeneratorPart> PARTS = Arrays.asList(new UrisPart(), new ConstructorPart(), new InitializePart());
+    private static final List<GeneratorPart> PARTS = Arrays.asList(new UrisPart(), new KeysPart(), new ConstructorPart(),
+            new InitializePart());
 
     public ConfigBuilderGenerator(TypeElement interfaceElement, List<MethodInfo> methodsInfo, InterfaceInfo interfaceInfo) {
         super(interfaceElement, methodsInfo, ConfigInitializer.INITIALIZER_CLASSNAME_PREFIX, interfaceInfo);
@@ -23,16 +23,15 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
 
 import javax.lang.model.element.Modifier;
-import javax.lang.model.type.TypeMirror;
 
 import com.squareup.javapoet.CodeBlock;
-
+import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
@@ -47,6 +46,7 @@ import net.cactusthorn.config.core.converter.Converter;
 import net.cactusthorn.config.core.loader.ConfigHolder;
 import net.cactusthorn.config.core.loader.LoadStrategy;
 import net.cactusthorn.config.core.util.ConfigInitializer;
+import net.cactusthorn.config.core.util.LazyValue;
 
 public class InitializePart implements GeneratorPart {
 
@@ -55,17 +55,23 @@ public class InitializePart implements GeneratorPart {
         MethodSpec.Builder buildBuilder = MethodSpec.methodBuilder("initialize").addModifiers(Modifier.PUBLIC).addAnnotation(Override.class)
                 .returns(MAP_STRING_OBJECT);
 
-        addConfigHolder(buildBuilder, generator);
+        // names of the generated constants: different methods (e.g. fooBar() and foo_bar()) can give the same name
+        Set<String> constants = new HashSet<>();
+
+        Map<ConverterInfo, CodeBlock> converters = addConverters(classBuilder, generator.methodsInfo(), constants);
 
-        addConverters(buildBuilder, generator.methodsInfo());
+        Map<String, String> defaults = addStaticDefaults(classBuilder, generator.methodsInfo(), constants);
+
+        addConfigHolder(buildBuilder, generator);
 
         buildBuilder.addStatement("$T<$T,$T> values = new $T<>()", Map.class, String.class, Object.class, HashMap.class);
-        generator.methodsInfo().forEach(mi -> buildBuilder.addStatement("values.put($S, $L)", mi.key(), convert(mi)));
+        generator.methodsInfo().forEach(mi -> buildBuilder.addStatement("values.put($S, $L)", mi.key(), value(mi, converters, defaults)));
 
         classBuilder.addMethod(buildBuilder.addStatement("return values").build());
     }
 
     private static final String CONFIG_HOLDER = "ch";
+    private static final String LAZY_HOLDER = "h";
 
     private void addConfigHolder(MethodSpec.Builder buildBuilder, Generator generator) {
 
@@ -73,46 +79,118 @@ public class InitializePart implements GeneratorPart {
 
         CodeBlock strategyBlock = CodeBlock.builder().add("$T.$L", LoadStrategy.class, configInfo.loadStrategy().name()).build();
 
-        buildBuilder.addStatement("$T $L = loaders().load($L.class.getClassLoader(), $L, $L)", ConfigHolder.class, CONFIG_HOLDER,
-                ConfigInitializer.CONFIG_CLASSNAME_PREFIX + generator.interfaceName().simpleName(), strategyBlock, URIS_ATTR);
+        buildBuilder.addStatement("$T $L = loaders().load($L.class.getClassLoader(), $L, $L, $L)", ConfigHolder.class, CONFIG_HOLDER,
+                ConfigInitializer.CONFIG_CLASSNAME_PREFIX + generator.interfaceName().simpleName(), strategyBlock, URIS_ATTR, KEYS_ATTR);
     }
 
-    private void addConverters(MethodSpec.Builder buildBuilder, List<MethodInfo> methodInfo) {
-        Set<TypeMirror> converters = new HashSet<>();
+    // the result is the name of the constant for each method name
+    private Map<String, String> addStaticDefaults(TypeSpec.Builder classBuilder, List<MethodInfo> methodInfo, Set<String> constants) {
+        Map<String, String> defaults = new HashMap<>();
+        methodInfo.forEach(mi -> mi.staticDefault().ifPresent(initializer -> {
+            String field = constantName("DEFAULT_", mi.name(), constants);
+            defaults.put(mi.name(), field);
+            classBuilder.addField(FieldSpec.builder(mi.returnTypeName(), field, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                    .initializer(initializer).build());
+        }));
+        return defaults;
+    }
+
+    // unique name: suffix is added, if the name is already used
+    private static String constantName(String prefix, String name, Set<String> constants) {
+        String constant = prefix + name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase(Locale.ENGLISH);
+        String unique = constant;
+        for (int i = 2; !constants.add(unique); i++) {
+            unique = constant + '_' + i;
+        }
+        return unique;
+    }
+
+    // converters and their parameters are static constants: the result is the conversion function for each ConverterInfo
+    private Map<ConverterInfo, CodeBlock> addConverters(TypeSpec.Builder classBuilder, List<MethodInfo> methodInfo, Set<String> constants) {
+        Map<String, String> converterFields = new HashMap<>();
+        Map<ConverterInfo, CodeBlock> functions = new HashMap<>();
         methodInfo.forEach(mi -> {
-            addConverter(buildBuilder, mi, converters);
+            addConverter(classBuilder, mi, mi.name(), converterFields, functions, constants);
             mi.returnMapKeyInfo().ifPresent(mki -> {
-                addConverter(buildBuilder, mki, converters);
+                addConverter(classBuilder, mki, mi.name() + "Key", converterFields, functions, constants);
             });
         });
+        return functions;
     }
 
-    private void addConverter(MethodSpec.Builder buildBuilder, MethodInfo methodInfo, Set<TypeMirror> converters) {
-        methodInfo.returnConverter().ifPresent(c -> {
-            TypeMirror converter = c.type();
-            if (!converters.contains(converter)) {
-                converters.add(converter);
-                buildBuilder.addStatement("CONVERTERS.computeIfAbsent($T.class, c -> new $T())", converter, converter);
+    private void addConverter(TypeSpec.Builder classBuilder, MethodInfo methodInfo, String name, Map<String, String> converterFields,
+            Map<ConverterInfo, CodeBlock> functions, Set<String> constants) {
+        methodInfo.returnConverter().ifPresent(ci -> {
+            TypeName converterType = TypeName.get(ci.type());
+            String field = converterFields.get(converterType.toString());
+            if (field == null) {
+                String simpleName = ci.type().toString().substring(ci.type().toString().lastIndexOf('.') + 1);
+                field = constantName("CONVERTER_", simpleName.replaceAll("Converter$", ""), constants);
+                converterFields.put(converterType.toString(), field);
+                classBuilder.addField(FieldSpec.builder(converterType, field, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("new $T()", converterType).build());
+            }
+            CodeBlock parameters = converterParameters(ci.parameters());
+            if (!Arrays.equals(Converter.EMPTY, ci.parameters())) {
+                String parametersField = constantName("PARAMS_", name, constants);
+                classBuilder.addField(FieldSpec.builder(String[].class, parametersField, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer(parameters).build());
+                parameters = CodeBlock.of("$L", parametersField);
             }
+            functions.put(ci, CodeBlock.of("s -> $L.convert(s, $L)", field, parameters));
         });
     }
 
-    private CodeBlock convert(MethodInfo mi) {
-        CodeBlock.Builder builder = findGetMethod(mi).add("(");
+    // lazy value keeps only own raw property and converts it on first access
+    private CodeBlock value(MethodInfo mi, Map<ConverterInfo, CodeBlock> converters, Map<String, String> defaults) {
+        if (!mi.lazy()) {
+            return convert(mi, converters, defaults, CONFIG_HOLDER);
+        }
+        boolean required = !mi.returnOptional() && !mi.defaultValue().isPresent();
+        return CodeBlock.of("new $T<>($L.subset($S, $L), $L -> $L)", LazyValue.class, CONFIG_HOLDER, mi.key(), required, LAZY_HOLDER,
+                convert(mi, converters, defaults, LAZY_HOLDER));
+    }
+
+    private CodeBlock convert(MethodInfo mi, Map<ConverterInfo, CodeBlock> converters, Map<String, String> defaults, String holder) {
+        if (mi.returnArrayComponent().isPresent()) {
+            return convertArray(mi, mi.returnArrayComponent().get(), holder);
+        }
+        if (mi.staticDefault().isPresent()) {
+            return convertWithStaticDefault(mi, converters, defaults.get(mi.name()), holder);
+        }
+        CodeBlock.Builder builder = findGetMethod(mi, holder).add("(");
         CodeBlock defaultValue = defaultValue(mi);
         return
             mi.returnMapKeyInfo().map(keyInfo -> {
-                builder.add("$L, ", function(keyInfo.returnConverter(), keyInfo.returnStringMethod(), keyInfo.returnTypeName()));
-                builder.add("$L, ", function(mi.returnConverter(), mi.returnStringMethod(), mi.returnTypeName()));
+                builder.add("$L, ", function(keyInfo, converters));
+                builder.add("$L, ", function(mi, converters));
                 return builder.add("$S", mi.key()).add(split(mi)).add(defaultValue).add(")").build();
             }).orElseGet(() -> {
-                builder.add("$L, ", function(mi.returnConverter(), mi.returnStringMethod(), mi.returnTypeName()));
+                builder.add("$L, ", function(mi, converters));
                 return builder.add("$S", mi.key()).add(split(mi)).add(defaultValue).add(")").build();
             });
     }
 
-    private CodeBlock.Builder findGetMethod(MethodInfo mi) {
-        CodeBlock.Builder builder = CodeBlock.builder().add("$L.", CONFIG_HOLDER);
+    private CodeBlock convertWithStaticDefault(MethodInfo mi, Map<ConverterInfo, CodeBlock> converters, String constant, String holder) {
+        TypeName type = mi.returnTypeName();
+        if (type.isPrimitive()) {
+            String typeName = type.toString();
+            return CodeBlock.of("$L.get$L$L($S, $L)", holder, Character.toUpperCase(typeName.charAt(0)), typeName.substring(1),
+                    mi.key(), constant);
+        }
+        return CodeBlock.of("$L.getOrDefault($L, $S, $L)", holder, function(mi, converters), mi.key(), constant);
+    }
+
+    private CodeBlock convertArray(MethodInfo mi, TypeName component, String holder) {
+        String componentName = component.isPrimitive() ? component.toString() : "string";
+        String getMethod = (mi.returnOptional() ? "getOptional" : "get") + Character.toUpperCase(componentName.charAt(0))
+                + componentName.substring(1) + "Array";
+        return CodeBlock.builder().add("$L.$L($S, $S", holder, getMethod, mi.key(), mi.split()).add(defaultValue(mi)).add(")")
+                .build();
+    }
+
+    private CodeBlock.Builder findGetMethod(MethodInfo mi, String holder) {
+        CodeBlock.Builder builder = CodeBlock.builder().add("$L.", holder);
         if (mi.returnOptional()) {
             return builder.add(mi.returnInterface().map(t -> {
                 if (t == List.class) {
@@ -155,12 +233,10 @@ public class InitializePart implements GeneratorPart {
         return mi.defaultValue().map(s -> CodeBlock.of(", $S", s)).orElse(CodeBlock.of(""));
     }
 
-    private CodeBlock function(Optional<ConverterInfo> converterInfo, Optional<MethodInfo.StringMethodInfo> stringMethodInfo,
-            TypeName returnTypeName) {
-        return converterInfo.map(ci -> {
-            return CodeBlock.builder().add("s -> convert($T.class, s, $L)", ci.type(), converterParameters(ci.parameters())).build();
-        }).orElseGet(() -> {
-            return stringMethodInfo.map(smi -> {
+    private CodeBlock function(MethodInfo mi, Map<ConverterInfo, CodeBlock> converters) {
+        TypeName returnTypeName = mi.returnTypeName();
+        return mi.returnConverter().map(converters::get).orElseGet(() -> {
+            return mi.returnStringMethod().map(smi -> {
                 StringMethod sm = smi.stringMethod();
                 if (sm == StringMethod.STRING) {
                     return CodeBlock.builder().add("s -> s").build();
@@ -0,0 +1,58 @@
+/*
+* Copyright (C) 2021, Alexei Khatskevich
+*
+* Licensed under the BSD 3-Clause license.
+* You may obtain a copy of the License at
+*
+* https://github.com/Gmugra/net.cactusthorn.config/blob/main/LICENSE
+*
+* THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+* AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+* IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+* DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+* FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+* DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+* CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+* OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+* OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.cactusthorn.config.compiler.methodvalidator;
+
+import static net.cactusthorn.config.compiler.CompilerMessages.msg;
+import static net.cactusthorn.config.compiler.CompilerMessages.Key.RETURN_ARRAYS;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.TypeName;
+
+import net.cactusthorn.config.compiler.ProcessorException;
+
+public class ArrayTypeValidator extends MethodValidatorAncestor {
+
+    public static final List<TypeName> COMPONENTS = Arrays.asList(TypeName.INT, TypeName.LONG, TypeName.DOUBLE, TypeName.BOOLEAN,
+            TypeName.CHAR, ClassName.get(String.class));
+
+    public ArrayTypeValidator(ProcessingEnvironment processingEnv) {
+        super(processingEnv);
+    }
+
+    @Override public MethodInfo validate(ExecutableElement methodElement, TypeMirror typeMirror) throws ProcessorException {
+        if (typeMirror.getKind() != TypeKind.ARRAY) {
+            return next(methodElement, typeMirror);
+        }
+        TypeName component = TypeName.get(((ArrayType) typeMirror).getComponentType());
+        if (!COMPONENTS.contains(component)) {
+            throw new ProcessorException(msg(RETURN_ARRAYS, COMPONENTS), methodElement);
+        }
+        return new MethodInfo(methodElement).withArray(component);
+    }
+}
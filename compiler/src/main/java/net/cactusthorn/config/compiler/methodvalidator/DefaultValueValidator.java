@@ -0,0 +1,133 @@
+/*
+* Copyright (C) 2021, Alexei Khatskevich
+*
+* Licensed under the BSD 3-Clause license.
+* You may obtain a copy of the License at
+*
+* https://github.com/Gmugra/net.cactusthorn.config/blob/main/LICENSE
+*
+* THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+* AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+* IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+* DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+* FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+* DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+* CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+* OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+* OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.cactusthorn.config.compiler.methodvalidator;
+
+import static net.cactusthorn.config.compiler.CompilerMessages.msg;
+import static net.cactusthorn.config.compiler.CompilerMessages.Key.DEFAULT_WRONG_VALUE;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.type.DeclaredType;
+
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.TypeName;
+
+import net.cactusthorn.config.compiler.ProcessorException;
+import net.cactusthorn.config.compiler.methodvalidator.MethodInfo.StringMethod;
+import net.cactusthorn.config.core.converter.Converter;
+import net.cactusthorn.config.core.converter.standard.ByteSizeConverter;
+import net.cactusthorn.config.core.converter.standard.CharacterConverter;
+import net.cactusthorn.config.core.converter.standard.DurationConverter;
+import net.cactusthorn.config.core.converter.standard.PeriodConverter;
+import net.cactusthorn.config.core.converter.standard.URIConverter;
+
+/**
+ * Checks @Default values of the standard types at compile time. Valid values are marked to be converted only once, into static
+ * constants of the generated initializer.
+ */
+public final class DefaultValueValidator {
+
+    private static final Map<TypeName, Function<String, ?>> PARSERS = new HashMap<>();
+    static {
+        PARSERS.put(TypeName.BOOLEAN, Boolean::valueOf);
+        PARSERS.put(TypeName.BYTE, Byte::valueOf);
+        PARSERS.put(TypeName.SHORT, Short::valueOf);
+        PARSERS.put(TypeName.INT, Integer::valueOf);
+        PARSERS.put(TypeName.LONG, Long::valueOf);
+        PARSERS.put(TypeName.FLOAT, Float::valueOf);
+        PARSERS.put(TypeName.DOUBLE, Double::valueOf);
+    }
+
+    private static final Map<String, Converter<?>> CONVERTERS = new HashMap<>();
+    static {
+        CONVERTERS.put(DurationConverter.class.getName(), new DurationConverter());
+        CONVERTERS.put(PeriodConverter.class.getName(), new PeriodConverter());
+        CONVERTERS.put(ByteSizeConverter.class.getName(), new ByteSizeConverter());
+        CONVERTERS.put(URIConverter.class.getName(), new URIConverter());
+        CONVERTERS.put(CharacterConverter.class.getName(), new CharacterConverter());
+    }
+
+    public MethodInfo validate(ExecutableElement methodElement, MethodInfo methodInfo) throws ProcessorException {
+        if (!methodInfo.defaultValue().isPresent() || methodInfo.returnOptional() || methodInfo.returnInterface().isPresent()
+                || methodInfo.returnArrayComponent().isPresent()) {
+            return methodInfo;
+        }
+        String value = methodInfo.defaultValue().get();
+        try {
+            CodeBlock initializer = initializer(methodElement, methodInfo, value);
+            return initializer == null ? methodInfo : methodInfo.withStaticDefault(initializer);
+        } catch (RuntimeException e) {
+            throw new ProcessorException(msg(DEFAULT_WRONG_VALUE, value), methodElement);
+        }
+    }
+
+    private CodeBlock initializer(ExecutableElement methodElement, MethodInfo methodInfo, String value) {
+        TypeName type = methodInfo.returnTypeName();
+        if (methodInfo.returnConverter().isPresent()) {
+            MethodInfo.ConverterInfo converterInfo = methodInfo.returnConverter().get();
+            Converter<?> converter = CONVERTERS.get(converterInfo.type().toString());
+            if (converter == null || !Arrays.equals(Converter.EMPTY, converterInfo.parameters())) {
+                return null;
+            }
+            converter.convert(value);
+            return CodeBlock.of("new $T().convert($S)", converterInfo.type(), value);
+        }
+        if (type.equals(TypeName.CHAR)) {
+            if (value.isEmpty()) {
+                throw new IllegalArgumentException(value);
+            }
+            return CodeBlock.of("$S.charAt(0)", value);
+        }
+        if (type.isPrimitive()) {
+            PARSERS.get(type).apply(value);
+            return CodeBlock.of("$T.valueOf($S)", type.box(), value);
+        }
+        if (!methodInfo.returnStringMethod().isPresent()) {
+            return null;
+        }
+        StringMethod stringMethod = methodInfo.returnStringMethod().get().stringMethod();
+        if (stringMethod == StringMethod.STRING) {
+            return CodeBlock.of("$S", value);
+        }
+        if (stringMethod != StringMethod.VALUEOF) {
+            return null;
+        }
+        if (type.isBoxedPrimitive()) {
+            PARSERS.get(type.unbox()).apply(value);
+            return CodeBlock.of("$T.valueOf($S)", type, value);
+        }
+        Element returnElement = ((DeclaredType) methodElement.getReturnType()).asElement();
+        if (returnElement.getKind() != ElementKind.ENUM) {
+            return null;
+        }
+        boolean exists = returnElement.getEnclosedElements().stream()
+                .anyMatch(e -> e.getKind() == ElementKind.ENUM_CONSTANT && e.getSimpleName().contentEquals(value));
+        if (!exists) {
+            throw new IllegalArgumentException(value);
+        }
+        return CodeBlock.of("$T.$L", type, value);
+    }
+}
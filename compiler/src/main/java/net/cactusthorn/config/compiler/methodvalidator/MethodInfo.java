@@ -29,6 +29,7 @@ import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.type.TypeMirror;
 
 import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.TypeName;
 
 import net.cactusthorn.config.compiler.Annotations;
@@ -107,12 +108,15 @@ public final class MethodInfo {
 
     private String key;
     private String split;
+    private boolean lazy;
 
     private Optional<StringMethodInfo> returnStringMethod = Optional.empty();
     private Optional<Type> returnInterface = Optional.empty();
     private boolean returnOptional = false;
     private Optional<ConverterInfo> returnConverter = Optional.empty();
     private Optional<MethodInfo> returnMapKeyInfo = Optional.empty();
+    private Optional<TypeName> returnArrayComponent = Optional.empty();
+    private Optional<CodeBlock> staticDefault = Optional.empty();
 
     MethodInfo(ExecutableElement methodElement) {
         annotations = new Annotations(methodElement);
@@ -121,6 +125,7 @@ public final class MethodInfo {
         key = annotations.key().orElse(name);
         disabledFeatures = annotations.disable();
         defaultValue = annotations.defaultValue();
+        lazy = annotations.lazy();
     }
 
     MethodInfo withStringMethod(StringMethod stringMethod, TypeMirror stringMethodTM) {
@@ -138,6 +143,11 @@ public final class MethodInfo {
         return this;
     }
 
+    MethodInfo withArray(TypeName componentType) {
+        returnArrayComponent = Optional.of(componentType);
+        return this;
+    }
+
     MethodInfo withConverter(TypeMirror converterType, String[] parameters) {
         returnConverter = Optional.of(new ConverterInfo(converterType, parameters));
         return this;
@@ -148,6 +158,12 @@ public final class MethodInfo {
             key = interfaceInfo.prefix() + key;
         }
         split = annotations.split().orElse(interfaceInfo.split());
+        lazy = lazy || interfaceInfo.lazy();
+        return this;
+    }
+
+    MethodInfo withStaticDefault(CodeBlock initializer) {
+        staticDefault = Optional.of(initializer);
         return this;
     }
 
@@ -188,6 +204,10 @@ public final class MethodInfo {
         return returnMapKeyInfo;
     }
 
+    public Optional<TypeName> returnArrayComponent() {
+        return returnArrayComponent;
+    }
+
     public String split() {
         return split;
     }
@@ -195,4 +215,12 @@ public final class MethodInfo {
     public Optional<String> defaultValue() {
         return defaultValue;
     }
+
+    public boolean lazy() {
+        return lazy;
+    }
+
+    public Optional<CodeBlock> staticDefault() {
+        return staticDefault;
+    }
 }
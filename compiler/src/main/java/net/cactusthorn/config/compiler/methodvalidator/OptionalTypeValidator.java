@@ -50,7 +50,8 @@ public class OptionalTypeValidator extends MethodValidatorAncestor {
         optionalTM = processingEnv.getElementUtils().getTypeElement(Optional.class.getName()).asType();
         defaultTM = processingEnv.getElementUtils().getTypeElement(Default.class.getName()).asType();
         // @formatter:off
-        argumentValidator = MethodValidatorChain.builder(processingEnv, InterfaceTypeValidator.class)
+        argumentValidator = MethodValidatorChain.builder(processingEnv, ArrayTypeValidator.class)
+            .next(InterfaceTypeValidator.class)
             .next(AbstractTypeValidator.class)
             .next(DefaultConvertorValidator.class)
             .next(ConverterValidator.class)
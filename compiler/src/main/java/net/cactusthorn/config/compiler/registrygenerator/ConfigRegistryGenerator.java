@@ -0,0 +1,82 @@
+/*
+* Copyright (C) 2021, Alexei Khatskevich
+*
+* Licensed under the BSD 3-Clause license.
+* You may obtain a copy of the License at
+*
+* https://github.com/Gmugra/net.cactusthorn.config/blob/main/LICENSE
+*
+* THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+* AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+* IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+* DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+* FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+* DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+* CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+* OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+* OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.cactusthorn.config.compiler.registrygenerator;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import javax.lang.model.element.Modifier;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.WildcardTypeName;
+
+import net.cactusthorn.config.core.loader.Loaders;
+import net.cactusthorn.config.core.util.ConfigInitializer;
+import net.cactusthorn.config.core.util.ConfigRegistry;
+
+public final class ConfigRegistryGenerator {
+
+    private static final TypeName ANY = WildcardTypeName.subtypeOf(Object.class);
+    private static final TypeName FACTORIES_TYPE = ParameterizedTypeName.get(ClassName.get(Map.class),
+            ParameterizedTypeName.get(ClassName.get(Class.class), ANY),
+            ParameterizedTypeName.get(ClassName.get(Function.class), ClassName.get(Loaders.class), ANY));
+
+    private static final String FACTORIES_ATTR = "FACTORIES";
+
+    private final ClassName className;
+    private final List<ClassName> interfaces;
+
+    public ConfigRegistryGenerator(ClassName className, List<ClassName> interfaces) {
+        this.className = className;
+        this.interfaces = interfaces;
+    }
+
+    public JavaFile generate() {
+        CodeBlock.Builder init = CodeBlock.builder().addStatement("$T factories = new $T<>()", FACTORIES_TYPE, HashMap.class);
+        interfaces.forEach(i -> init.addStatement("factories.put($T.class, $L$L::new)", i, ConfigInitializer.CONFIG_CLASSNAME_PREFIX,
+                i.simpleName()));
+        init.addStatement("$L = $T.unmodifiableMap(factories)", FACTORIES_ATTR, Collections.class);
+
+        MethodSpec factories = MethodSpec.methodBuilder("factories").addModifiers(Modifier.PUBLIC).addAnnotation(Override.class)
+                .returns(FACTORIES_TYPE).addStatement("return $L", FACTORIES_ATTR).build();
+
+        // @formatter:off
+        TypeSpec registry =
+            TypeSpec.classBuilder(className)
+            .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+            .addSuperinterface(ConfigRegistry.class)
+            .addField(FieldSpec.builder(FACTORIES_TYPE, FACTORIES_ATTR, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL).build())
+            .addStaticBlock(init.build())
+            .addMethod(factories)
+            .build();
+        // @formatter:on
+        return JavaFile.builder(className.packageName(), registry).build();
+    }
+}
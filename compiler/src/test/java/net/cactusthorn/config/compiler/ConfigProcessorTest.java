@@ -19,6 +19,8 @@
 */
 package net.cactusthorn.config.compiler;
 
+import javax.tools.StandardLocation;
+
 import org.junit.jupiter.api.Test;
 
 import com.google.testing.compile.Compilation;
@@ -26,9 +28,13 @@ import com.google.testing.compile.Compiler;
 import com.google.testing.compile.JavaFileObjects;
 import static com.google.testing.compile.CompilationSubject.assertThat;
 import static net.cactusthorn.config.compiler.CompilerMessages.msg;
+import static net.cactusthorn.config.compiler.CompilerMessages.Key.DISABLE_ON_INTERFACE;
+import static net.cactusthorn.config.compiler.CompilerMessages.Key.DISABLE_ON_METHOD;
 import static net.cactusthorn.config.compiler.CompilerMessages.Key.METHOD_MUST_EXIST;
 import static net.cactusthorn.config.compiler.CompilerMessages.Key.ONLY_INTERFACE;
 
+import net.cactusthorn.config.core.util.ConfigRegistry;
+
 public class ConfigProcessorTest {
 
     private static Compiler compiler() {
@@ -40,6 +46,15 @@ public class ConfigProcessorTest {
         assertThat(compilation).succeededWithoutWarnings();
     }
 
+    @Test public void registry() {
+        Compilation compilation = compiler().compile(JavaFileObjects.forResource("test/AllCorrect.java"),
+                JavaFileObjects.forResource("test/ValueOf.java"));
+        assertThat(compilation).succeededWithoutWarnings();
+        assertThat(compilation).generatedSourceFile("test.ConfigRegistry_").contentsAsUtf8String().contains("Config_ValueOf::new");
+        assertThat(compilation).generatedFile(StandardLocation.CLASS_OUTPUT, "META-INF/services/" + ConfigRegistry.class.getName())
+                .contentsAsUtf8String().isEqualTo("test.ConfigRegistry_\n");
+    }
+
     @Test public void abstractClass() {
         Compilation compilation = compiler().compile(JavaFileObjects.forResource("test/AbstractClass.java"));
         assertThat(compilation).hadErrorContaining(msg(ONLY_INTERFACE));
@@ -50,6 +65,23 @@ public class ConfigProcessorTest {
         assertThat(compilation).hadErrorContaining(msg(METHOD_MUST_EXIST));
     }
 
+    @Test public void sameConstantNames() {
+        Compilation compilation = compiler().compile(JavaFileObjects.forResource("test/SameConstantNames.java"));
+        assertThat(compilation).succeededWithoutWarnings();
+        assertThat(compilation).generatedSourceFile("test.ConfigInitializer_SameConstantNames").contentsAsUtf8String()
+                .contains("values.put(\"foo_bar\", ch.getInt(\"foo_bar\", DEFAULT_FOO_BAR_3))");
+    }
+
+    @Test public void disableOnInterface() {
+        Compilation compilation = compiler().compile(JavaFileObjects.forResource("test/WrongDisableInterface.java"));
+        assertThat(compilation).hadErrorContaining(msg(DISABLE_ON_INTERFACE, "PREFIX"));
+    }
+
+    @Test public void disableOnMethod() {
+        Compilation compilation = compiler().compile(JavaFileObjects.forResource("test/WrongDisableMethod.java"));
+        assertThat(compilation).hadErrorContaining(msg(DISABLE_ON_METHOD, "EAGER_HASHCODE"));
+    }
+
     @Test public void extendsInterface() {
         Compilation compilation = compiler().compile(
             JavaFileObjects.forResource("test/AllCorrect.java"),
@@ -30,6 +30,7 @@ import com.google.testing.compile.Compilation;
 import com.google.testing.compile.Compiler;
 import com.google.testing.compile.JavaFileObjects;
 
+import net.cactusthorn.config.compiler.methodvalidator.ArrayTypeValidator;
 import net.cactusthorn.config.compiler.methodvalidator.InterfaceTypeValidator;
 
 import org.junit.jupiter.api.BeforeAll;
@@ -70,6 +71,26 @@ public class MethodValidatorTest {
         assertThat(compilation).hadErrorContaining(msg(RETURN_STRING_CLASS));
     }
 
+    @Test public void wrongArray() {
+        Compilation compilation = compiler().compile(JavaFileObjects.forResource("test/WrongArray.java"));
+        assertThat(compilation).hadErrorContaining(msg(RETURN_ARRAYS, ArrayTypeValidator.COMPONENTS));
+    }
+
+    @Test public void wrongDefaultPrimitive() {
+        Compilation compilation = compiler().compile(JavaFileObjects.forResource("test/WrongDefaultPrimitive.java"));
+        assertThat(compilation).hadErrorContaining(msg(DEFAULT_WRONG_VALUE, "abc"));
+    }
+
+    @Test public void wrongDefaultEnum() {
+        Compilation compilation = compiler().compile(JavaFileObjects.forResource("test/WrongDefaultEnum.java"));
+        assertThat(compilation).hadErrorContaining(msg(DEFAULT_WRONG_VALUE, "WEEKS"));
+    }
+
+    @Test public void wrongDefaultConverter() {
+        Compilation compilation = compiler().compile(JavaFileObjects.forResource("test/WrongDefaultConverter.java"));
+        assertThat(compilation).hadErrorContaining(msg(DEFAULT_WRONG_VALUE, "10 years"));
+    }
+
     @Test public void wrongInterface() {
         Compilation compilation = compiler().compile(JavaFileObjects.forResource("test/WrongInterface.java"));
         assertThat(compilation).hadErrorContaining(msg(RETURN_INTERFACES, InterfaceTypeValidator.INTERFACES));
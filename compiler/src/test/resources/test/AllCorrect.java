@@ -8,6 +8,7 @@ import net.cactusthorn.config.core.Split;
 import net.cactusthorn.config.core.loader.LoadStrategy;
 import net.cactusthorn.config.core.Key;
 import net.cactusthorn.config.core.Default;
+import net.cactusthorn.config.core.Lazy;
 
 import java.io.Serializable;
 import java.util.*;
@@ -67,4 +68,12 @@ import java.time.Instant;
     Optional<List<Character>> charList();
 
     Optional<Map<Instant, String>> defaultConverterKey();
+
+    @Default("1,2,3") int[] ints();
+
+    Optional<String[]> strings();
+
+    @Lazy @Default("10") long lazyLong();
+
+    @Lazy Optional<Set<UUID>> lazySet();
 }
@@ -0,0 +1,13 @@
+package test;
+
+import net.cactusthorn.config.core.Config;
+import net.cactusthorn.config.core.Default;
+
+@Config public interface SameConstantNames {
+
+    @Default("1") int fooBar();
+
+    @Default("2") int foo_bar();
+
+    @Default("3") int FOO_BAR();
+}
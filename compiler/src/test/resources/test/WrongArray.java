@@ -0,0 +1,7 @@
+package test;
+
+import net.cactusthorn.config.core.Config;
+
+@Config interface WrongArray {
+    float[] floats();
+}
@@ -0,0 +1,10 @@
+package test;
+
+import java.time.Duration;
+
+import net.cactusthorn.config.core.Config;
+import net.cactusthorn.config.core.Default;
+
+@Config interface WrongDefaultConverter {
+    @Default("10 years") Duration duration();
+}
@@ -0,0 +1,10 @@
+package test;
+
+import java.util.concurrent.TimeUnit;
+
+import net.cactusthorn.config.core.Config;
+import net.cactusthorn.config.core.Default;
+
+@Config interface WrongDefaultEnum {
+    @Default("WEEKS") TimeUnit unit();
+}
@@ -0,0 +1,8 @@
+package test;
+
+import net.cactusthorn.config.core.Config;
+import net.cactusthorn.config.core.Default;
+
+@Config interface WrongDefaultPrimitive {
+    @Default("abc") int value();
+}
@@ -0,0 +1,8 @@
+package test;
+
+import net.cactusthorn.config.core.Config;
+import net.cactusthorn.config.core.Disable;
+
+@Config @Disable(Disable.Feature.PREFIX) public interface WrongDisableInterface {
+    String str();
+}
@@ -0,0 +1,8 @@
+package test;
+
+import net.cactusthorn.config.core.Config;
+import net.cactusthorn.config.core.Disable;
+
+@Config public interface WrongDisableMethod {
+    @Disable(Disable.Feature.EAGER_HASHCODE) String str();
+}
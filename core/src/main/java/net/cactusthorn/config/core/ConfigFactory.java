@@ -26,28 +26,46 @@ import static net.cactusthorn.config.core.util.ApiMessages.Key.*;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
+import java.lang.reflect.UndeclaredThrowableException;
 import java.net.URI;
+import java.time.Duration;
 import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.ServiceConfigurationError;
 import java.util.ServiceLoader;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import net.cactusthorn.config.core.loader.CachePolicy;
+import net.cactusthorn.config.core.loader.CacheStats;
 import net.cactusthorn.config.core.loader.ConfigHolder;
 import net.cactusthorn.config.core.loader.LoadStrategy;
 import net.cactusthorn.config.core.loader.Loader;
 import net.cactusthorn.config.core.loader.Loaders;
 import net.cactusthorn.config.core.util.ConfigInitializer;
+import net.cactusthorn.config.core.util.ConfigRegistry;
 
 public final class ConfigFactory {
 
+    private static final Logger LOG = Logger.getLogger(ConfigFactory.class.getName());
+
     private static final MethodType CONFIG_CONSTRUCTOR = MethodType.methodType(void.class, Loaders.class);
-    private static final ConcurrentHashMap<Class<?>, MethodHandle> BUILDERS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<Class<?>, Function<Loaders, ?>> BUILDERS = new ConcurrentHashMap<>();
+
+    // the registry is loaded by the first create, and not by the initialization of the ConfigFactory class
+    private static final class Registry {
+        private static final Map<Class<?>, Function<Loaders, ?>> FACTORIES = loadRegistry();
+    }
 
     private final Loaders loaders;
 
@@ -68,6 +86,10 @@ public final class ConfigFactory {
 
         private Map<String, String> props = Collections.emptyMap();
         private LoadStrategy loadStrategy = LoadStrategy.MERGE;
+        private Executor executor;
+        private Duration sourceTimeout;
+        private boolean snapshotUris;
+        private CachePolicy cachePolicy = CachePolicy.unbounded();
 
         private Builder() {
             ServiceLoader<Loader> serviceLoader = ServiceLoader.load(Loader.class);
@@ -104,6 +126,39 @@ public final class ConfigFactory {
             return this;
         }
 
+        public Builder setParallelLoading() {
+            return setParallelLoading(Loaders.defaultExecutor());
+        }
+
+        public Builder setParallelLoading(Executor loadingExecutor) {
+            if (loadingExecutor == null) {
+                throw new IllegalArgumentException(isNull("loadingExecutor"));
+            }
+            executor = loadingExecutor;
+            return this;
+        }
+
+        public Builder setSourceTimeout(Duration timeout) {
+            if (timeout == null) {
+                throw new IllegalArgumentException(isNull("timeout"));
+            }
+            sourceTimeout = timeout;
+            return this;
+        }
+
+        public Builder setSnapshotUris() {
+            snapshotUris = true;
+            return this;
+        }
+
+        public Builder setCachePolicy(CachePolicy policy) {
+            if (policy == null) {
+                throw new IllegalArgumentException(isNull("policy"));
+            }
+            cachePolicy = policy;
+            return this;
+        }
+
         public Builder setSource(Map<String, String> properties) {
             if (properties == null) {
                 throw new IllegalArgumentException(isNull("properties"));
@@ -140,20 +195,35 @@ public final class ConfigFactory {
         }
 
         public ConfigFactory build() {
-            Loaders allLoaders = new Loaders(loadStrategy, templates, loaders, props);
+            Loaders allLoaders = new Loaders(loadStrategy, templates, loaders, props, executor, sourceTimeout, snapshotUris, cachePolicy);
             return new ConfigFactory(allLoaders);
         }
     }
 
     public <T> T create(Class<T> sourceInterface) {
         try {
-            MethodHandle methodHandler = BUILDERS.computeIfAbsent(sourceInterface, this::findConfigConstructor);
-            return (T) methodHandler.invoke(loaders);
+            Function<Loaders, ?> factory = BUILDERS.computeIfAbsent(sourceInterface, ConfigFactory::findConfigFactory);
+            return (T) factory.apply(loaders);
         } catch (Throwable e) {
             throw new IllegalArgumentException(msg(CANT_INVOKE_CONFIGBUILDER, sourceInterface.getName()), e);
         }
     }
 
+    public <T> ReloadableConfig<T> createReloadable(Class<T> sourceInterface) {
+        return new ReloadableConfig<>(() -> create(sourceInterface), loaders);
+    }
+
+    public <T> CompletableFuture<T> createAsync(Class<T> sourceInterface) {
+        return createAsync(sourceInterface, Loaders.defaultAsyncExecutor());
+    }
+
+    public <T> CompletableFuture<T> createAsync(Class<T> sourceInterface, Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException(isNull("executor"));
+        }
+        return CompletableFuture.supplyAsync(() -> create(sourceInterface), executor);
+    }
+
     public ConfigHolder configHolder(ClassLoader classLoader) {
         return loaders.load(classLoader);
     }
@@ -162,7 +232,68 @@ public final class ConfigFactory {
         return configHolder(ConfigFactory.class.getClassLoader());
     }
 
-    private <T> MethodHandle findConfigConstructor(Class<T> sourceInterface) {
+    public CompletableFuture<ConfigHolder> configHolderAsync(ClassLoader classLoader, Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException(isNull("executor"));
+        }
+        return loaders.loadAsync(classLoader, executor);
+    }
+
+    public CompletableFuture<ConfigHolder> configHolderAsync(Executor executor) {
+        return configHolderAsync(ConfigFactory.class.getClassLoader(), executor);
+    }
+
+    public CompletableFuture<ConfigHolder> configHolderAsync() {
+        return loaders.loadAsync(ConfigFactory.class.getClassLoader());
+    }
+
+    public void invalidate(URI uri) {
+        if (uri == null) {
+            throw new IllegalArgumentException(isNull("uri"));
+        }
+        loaders.invalidate(uri);
+    }
+
+    public void invalidateAll() {
+        loaders.invalidateAll();
+    }
+
+    public CacheStats cacheStats() {
+        return loaders.cacheStats();
+    }
+
+    private static Map<Class<?>, Function<Loaders, ?>> loadRegistry() {
+        Map<Class<?>, Function<Loaders, ?>> registry = new HashMap<>();
+        for (Iterator<ConfigRegistry> it = ServiceLoader.load(ConfigRegistry.class).iterator(); it.hasNext();) {
+            try {
+                registry.putAll(it.next().factories());
+            } catch (ServiceConfigurationError | LinkageError e) {
+                // stale registry (e.g. after incremental compilation): Class.forName fallback will be used
+                LOG.log(Level.FINE, e.getMessage(), e);
+            }
+        }
+        return registry;
+    }
+
+    private static Function<Loaders, ?> findConfigFactory(Class<?> sourceInterface) {
+        Function<Loaders, ?> factory = Registry.FACTORIES.get(sourceInterface);
+        if (factory != null) {
+            return factory;
+        }
+        MethodHandle methodHandle = findConfigConstructor(sourceInterface);
+        // same as the registered factories: unchecked exceptions as is, create() wraps them
+        return l -> {
+            try {
+                return methodHandle.invoke(l);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UndeclaredThrowableException(e);
+            }
+        };
+    }
+
+    private static MethodHandle findConfigConstructor(Class<?> sourceInterface) {
         Package interfacePackage = sourceInterface.getPackage();
         String interfaceName = sourceInterface.getSimpleName();
         String builderClassName = interfacePackage.getName() + '.' + ConfigInitializer.CONFIG_CLASSNAME_PREFIX + interfaceName;
@@ -20,16 +20,17 @@
 package net.cactusthorn.config.core;
 
 import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
 import static java.lang.annotation.RetentionPolicy.SOURCE;
 
 import java.lang.annotation.Documented;
 import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
 
-@Documented @Retention(SOURCE) @Target(METHOD) public @interface Disable {
+@Documented @Retention(SOURCE) @Target({TYPE, METHOD}) public @interface Disable {
     Feature[] value();
 
     enum Feature {
-        PREFIX;
+        PREFIX, EAGER_HASHCODE;
     }
 }
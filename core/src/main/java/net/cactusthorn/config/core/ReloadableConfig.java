@@ -0,0 +1,90 @@
+/*
+* Copyright (C) 2021, Alexei Khatskevich
+*
+* Licensed under the BSD 3-Clause license.
+* You may obtain a copy of the License at
+*
+* https://github.com/Gmugra/net.cactusthorn.config/blob/main/LICENSE
+*
+* THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+* AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+* IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+* DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+* FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+* DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+* CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+* OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+* OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.cactusthorn.config.core;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import net.cactusthorn.config.core.loader.Loaders;
+
+/**
+ * Config instance which is re-created when some of its {@code file:} sources are changed.
+ * {@link #get()} is lock-free: the new instance is published atomically. When the new instance can't be created
+ * (e.g. the file is invalid at the moment), the previous instance stays in use.
+ */
+public final class ReloadableConfig<T> implements Supplier<T>, AutoCloseable {
+
+    private static final Logger LOG = Logger.getLogger(ReloadableConfig.class.getName());
+
+    private final Supplier<T> factory;
+    private final Loaders loaders;
+    private final Runnable reloadListener = this::reload;
+    private final List<Consumer<T>> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile T instance;
+
+    ReloadableConfig(Supplier<T> factory, Loaders loaders) {
+        this.factory = factory;
+        this.loaders = loaders;
+        // registered before the first creation: a change during the creation is not missed
+        loaders.addReloadListener(reloadListener);
+        synchronized (this) {
+            try {
+                instance = factory.get();
+            } catch (RuntimeException e) {
+                loaders.removeReloadListener(reloadListener);
+                throw e;
+            }
+        }
+    }
+
+    @Override public T get() {
+        return instance;
+    }
+
+    /**
+     * @param listener is called with the new instance after each reload
+     */
+    public ReloadableConfig<T> addListener(Consumer<T> listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    @Override public void close() {
+        loaders.removeReloadListener(reloadListener);
+    }
+
+    // synchronized: the reload, which is started during the first creation, waits for it and then creates the newer one
+    private synchronized void reload() {
+        T reloaded;
+        try {
+            reloaded = factory.get();
+        } catch (RuntimeException e) {
+            LOG.log(Level.WARNING, e.getMessage(), e);
+            return;
+        }
+        instance = reloaded;
+        listeners.forEach(l -> l.accept(reloaded));
+    }
+}
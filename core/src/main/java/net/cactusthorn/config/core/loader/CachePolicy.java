@@ -0,0 +1,94 @@
+/*
+* Copyright (C) 2021, Alexei Khatskevich
+*
+* Licensed under the BSD 3-Clause license.
+* You may obtain a copy of the License at
+*
+* https://github.com/Gmugra/net.cactusthorn.config/blob/main/LICENSE
+*
+* THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+* AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+* IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+* DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+* FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+* DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+* CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+* OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+* OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.cactusthorn.config.core.loader;
+
+import static net.cactusthorn.config.core.util.ApiMessages.*;
+import static net.cactusthorn.config.core.util.ApiMessages.Key.IS_NEGATIVE;
+
+import java.time.Duration;
+
+/**
+ * Policy of the cache of loaded sources. Immutable: every method returns new policy.
+ * The weight of a source is the number of its properties.
+ */
+public final class CachePolicy {
+
+    private static final CachePolicy UNBOUNDED = new CachePolicy(Long.MAX_VALUE, Long.MAX_VALUE, null, null);
+
+    private final long maximumSize;
+    private final long maximumWeight;
+    private final Duration expireAfterWrite;
+    private final Duration refreshAfterWrite;
+
+    private CachePolicy(long maximumSize, long maximumWeight, Duration expireAfterWrite, Duration refreshAfterWrite) {
+        this.maximumSize = maximumSize;
+        this.maximumWeight = maximumWeight;
+        this.expireAfterWrite = expireAfterWrite;
+        this.refreshAfterWrite = refreshAfterWrite;
+    }
+
+    public static CachePolicy unbounded() {
+        return UNBOUNDED;
+    }
+
+    public CachePolicy maximumSize(long size) {
+        if (size < 0) {
+            throw new IllegalArgumentException(msg(IS_NEGATIVE, "size"));
+        }
+        return new CachePolicy(size, maximumWeight, expireAfterWrite, refreshAfterWrite);
+    }
+
+    public CachePolicy maximumWeight(long weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException(msg(IS_NEGATIVE, "weight"));
+        }
+        return new CachePolicy(maximumSize, weight, expireAfterWrite, refreshAfterWrite);
+    }
+
+    public CachePolicy expireAfterWrite(Duration duration) {
+        if (duration == null) {
+            throw new IllegalArgumentException(isNull("duration"));
+        }
+        return new CachePolicy(maximumSize, maximumWeight, duration, refreshAfterWrite);
+    }
+
+    public CachePolicy refreshAfterWrite(Duration duration) {
+        if (duration == null) {
+            throw new IllegalArgumentException(isNull("duration"));
+        }
+        return new CachePolicy(maximumSize, maximumWeight, expireAfterWrite, duration);
+    }
+
+    long maximumSize() {
+        return maximumSize;
+    }
+
+    long maximumWeight() {
+        return maximumWeight;
+    }
+
+    long expireAfterWriteNanos() {
+        return expireAfterWrite == null ? Long.MAX_VALUE : expireAfterWrite.toNanos();
+    }
+
+    long refreshAfterWriteNanos() {
+        return refreshAfterWrite == null ? Long.MAX_VALUE : refreshAfterWrite.toNanos();
+    }
+}
@@ -0,0 +1,161 @@
+/*
+* Copyright (C) 2021, Alexei Khatskevich
+*
+* Licensed under the BSD 3-Clause license.
+* You may obtain a copy of the License at
+*
+* https://github.com/Gmugra/net.cactusthorn.config/blob/main/LICENSE
+*
+* THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+* AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+* IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+* DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+* FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+* DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+* CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+* OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+* OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.cactusthorn.config.core.loader;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable open-addressing hash map with case-insensitive String keys (same rules as
+ * {@link String#CASE_INSENSITIVE_ORDER}, locale-independent). The case-folded hash of a key is calculated
+ * char-by-char, so lookups don't allocate. The original keys (first added wins, as with TreeMap) are kept for iteration.
+ */
+final class CaseInsensitiveMap extends AbstractMap<String, String> {
+
+    private static final int HASH_MULTIPLIER = 31;
+    // high bits are mixed into the low ones, which select the slot (as HashMap does)
+    private static final int HASH_SPREAD_SHIFT = 16;
+
+    private final String[] keys;
+    private final String[] values;
+    private final int[] hashes;
+    // index of the entry + 1, 0 : free slot
+    private final int[] slots;
+    private final int mask;
+    private int size;
+
+    private Set<Map.Entry<String, String>> entries;
+
+    private CaseInsensitiveMap(int expectedSize) {
+        keys = new String[expectedSize];
+        values = new String[expectedSize];
+        hashes = new int[expectedSize];
+        int capacity = Integer.highestOneBit(Math.max(2, expectedSize) * 2 - 1) << 1;
+        slots = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * @param layers in precedence order (first layer wins)
+     */
+    static Map<String, String> of(List<Map<String, String>> layers) {
+        int expectedSize = 0;
+        for (Map<String, String> layer : layers) {
+            expectedSize += layer.size();
+        }
+        CaseInsensitiveMap result = new CaseInsensitiveMap(expectedSize);
+        for (int i = layers.size() - 1; i >= 0; i--) {
+            layers.get(i).forEach(result::add);
+        }
+        return result;
+    }
+
+    private static int fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static int hash(String key) {
+        int h = 0;
+        for (int i = 0; i < key.length(); i++) {
+            h = HASH_MULTIPLIER * h + fold(key.charAt(i));
+        }
+        return h ^ (h >>> HASH_SPREAD_SHIFT);
+    }
+
+    private int find(String key, int hash) {
+        for (int slot = hash & mask;; slot = (slot + 1) & mask) {
+            int index = slots[slot] - 1;
+            if (index == -1) {
+                return -(slot + 1);
+            }
+            if (hashes[index] == hash && keys[index].equalsIgnoreCase(key)) {
+                return index;
+            }
+        }
+    }
+
+    private void add(String key, String value) {
+        int hash = hash(key);
+        int index = find(key, hash);
+        if (index >= 0) {
+            values[index] = value;
+            return;
+        }
+        keys[size] = key;
+        values[size] = value;
+        hashes[size] = hash;
+        slots[-index - 1] = ++size;
+    }
+
+    @Override public String get(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        String k = (String) key;
+        int index = find(k, hash(k));
+        return index >= 0 ? values[index] : null;
+    }
+
+    @Override public boolean containsKey(Object key) {
+        return key instanceof String && find((String) key, hash((String) key)) >= 0;
+    }
+
+    @Override public int size() {
+        return size;
+    }
+
+    @Override public Set<Map.Entry<String, String>> entrySet() {
+        if (entries == null) {
+            entries = new EntrySet();
+        }
+        return entries;
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<String, String>> {
+
+        @Override public Iterator<Map.Entry<String, String>> iterator() {
+            return new Iterator<Map.Entry<String, String>>() {
+                private int index;
+
+                @Override public boolean hasNext() {
+                    return index < size;
+                }
+
+                @Override public Map.Entry<String, String> next() {
+                    if (index >= size) {
+                        throw new NoSuchElementException();
+                    }
+                    Map.Entry<String, String> entry = new AbstractMap.SimpleImmutableEntry<>(keys[index], values[index]);
+                    index++;
+                    return entry;
+                }
+            };
+        }
+
+        @Override public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+* Copyright (C) 2021, Alexei Khatskevich
+*
+* Licensed under the BSD 3-Clause license.
+* You may obtain a copy of the License at
+*
+* https://github.com/Gmugra/net.cactusthorn.config/blob/main/LICENSE
+*
+* THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+* AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+* IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+* DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+* FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+* DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+* CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+* OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+* OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.cactusthorn.config.core.loader;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URLConnection;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads URL-based sources. For HTTP(S), the validators (ETag, Last-Modified) of the response are kept in the returned
+ * map itself, so nothing is stored here: the map lives as long as the cache keeps it. When the loader gets the
+ * previous map back ({@link Loader#reload}), the request is conditional, and "304 Not Modified" returns the previous
+ * map without parsing anything. Any other scheme is simply read and parsed.
+ */
+public final class ConditionalRequests {
+
+    private static final String ETAG = "ETag";
+    private static final String LAST_MODIFIED = "Last-Modified";
+    private static final String IF_NONE_MATCH = "If-None-Match";
+    private static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+
+    private ConditionalRequests() {
+    }
+
+    @FunctionalInterface public interface Parser {
+        Map<String, String> parse(Reader reader) throws Exception;
+    }
+
+    @FunctionalInterface public interface StreamParser {
+        Map<String, String> parse(InputStream stream, Charset charset) throws Exception;
+    }
+
+    // immutable properties with the validators of the response
+    private static final class Validated extends AbstractMap<String, String> {
+        private final String etag;
+        private final String lastModified;
+        private final Map<String, String> properties;
+
+        private Validated(String etag, String lastModified, Map<String, String> properties) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.properties = properties;
+        }
+
+        @Override public Set<Entry<String, String>> entrySet() {
+            return properties.entrySet();
+        }
+
+        @Override public String get(Object key) {
+            return properties.get(key);
+        }
+
+        @Override public boolean containsKey(Object key) {
+            return properties.containsKey(key);
+        }
+
+        @Override public int size() {
+            return properties.size();
+        }
+    }
+
+    /**
+     * @param uri    source, fragment (if present) is the name of the charset, UTF-8 by default
+     * @param parser parser of the body
+     * @return parsed map
+     * @throws Exception if source can't be read or parsed
+     */
+    public static Map<String, String> load(URI uri, Parser parser) throws Exception {
+        return load(uri, null, parser);
+    }
+
+    /**
+     * @param previous result of the previous call for the same URI, or null
+     * @return parsed map, or previous map if the server answered "304 Not Modified"
+     */
+    public static Map<String, String> load(URI uri, Map<String, String> previous, Parser parser) throws Exception {
+        return loadStream(uri, previous, (stream, charset) -> {
+            try (Reader reader = new InputStreamReader(stream, charset); BufferedReader buffer = new BufferedReader(reader)) {
+                return parser.parse(buffer);
+            }
+        });
+    }
+
+    /**
+     * Same as {@link #load(URI, Map, Parser)}, for parsers which decode the bytes of the body themselves.
+     */
+    public static Map<String, String> loadStream(URI uri, Map<String, String> previous, StreamParser parser) throws Exception {
+        Charset charset = uri.getFragment() == null ? StandardCharsets.UTF_8 : Charset.forName(uri.getFragment());
+        URLConnection connection = uri.toURL().openConnection();
+        if (!(connection instanceof HttpURLConnection)) {
+            return parse(connection, charset, parser);
+        }
+        HttpURLConnection http = (HttpURLConnection) connection;
+        Validated validated = previous instanceof Validated ? (Validated) previous : null;
+        if (validated != null) {
+            if (validated.etag != null) {
+                http.setRequestProperty(IF_NONE_MATCH, validated.etag);
+            }
+            if (validated.lastModified != null) {
+                http.setRequestProperty(IF_MODIFIED_SINCE, validated.lastModified);
+            }
+            if (http.getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                // no body, but the stream must be closed to return the connection to the keep-alive pool
+                http.getInputStream().close();
+                return validated;
+            }
+        }
+        Map<String, String> properties = Collections.unmodifiableMap(parse(http, charset, parser));
+        String etag = http.getHeaderField(ETAG);
+        String lastModified = http.getHeaderField(LAST_MODIFIED);
+        if (etag == null && lastModified == null) {
+            return properties;
+        }
+        return new Validated(etag, lastModified, properties);
+    }
+
+    private static Map<String, String> parse(URLConnection connection, Charset charset, StreamParser parser) throws Exception {
+        try (InputStream stream = connection.getInputStream()) {
+            return parser.parse(stream, charset);
+        }
+    }
+}
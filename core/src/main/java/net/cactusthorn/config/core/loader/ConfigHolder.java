@@ -24,6 +24,7 @@ import static net.cactusthorn.config.core.util.ApiMessages.Key.VALUE_NOT_FOUND;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -56,6 +57,17 @@ public final class ConfigHolder {
         return properties.containsKey(key);
     }
 
+    public ConfigHolder subset(String key, boolean required) {
+        String value = properties.get(key);
+        if (value == null) {
+            if (required) {
+                throw new IllegalArgumentException(msg(VALUE_NOT_FOUND, key));
+            }
+            return new ConfigHolder(Collections.emptyMap());
+        }
+        return new ConfigHolder(Collections.singletonMap(key, value));
+    }
+
     public String getString(String key) {
         return get(Function.identity(), key);
     }
@@ -212,6 +224,14 @@ public final class ConfigHolder {
         return convert.apply(value);
     }
 
+    public <T> T getOrDefault(Function<String, T> convert, String key, T defaultValue) {
+        String value = properties.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        return convert.apply(value);
+    }
+
     public <T> Optional<T> getOptional(Function<String, T> convert, String key) {
         String value = properties.get(key);
         if (value == null) {
@@ -345,6 +365,78 @@ public final class ConfigHolder {
         return Optional.of((SortedMap<K, V>) asMap(keyConvert, valueConvert, TreeMap::new, value, splitRegEx));
     }
 
+    public int[] getIntArray(String key, String splitRegEx) {
+        return get(s -> asIntArray(s, splitRegEx), key);
+    }
+
+    public int[] getIntArray(String key, String splitRegEx, String defaultValue) {
+        return get(s -> asIntArray(s, splitRegEx), key, defaultValue);
+    }
+
+    public Optional<int[]> getOptionalIntArray(String key, String splitRegEx) {
+        return getOptional(s -> asIntArray(s, splitRegEx), key);
+    }
+
+    public long[] getLongArray(String key, String splitRegEx) {
+        return get(s -> asLongArray(s, splitRegEx), key);
+    }
+
+    public long[] getLongArray(String key, String splitRegEx, String defaultValue) {
+        return get(s -> asLongArray(s, splitRegEx), key, defaultValue);
+    }
+
+    public Optional<long[]> getOptionalLongArray(String key, String splitRegEx) {
+        return getOptional(s -> asLongArray(s, splitRegEx), key);
+    }
+
+    public double[] getDoubleArray(String key, String splitRegEx) {
+        return get(s -> asDoubleArray(s, splitRegEx), key);
+    }
+
+    public double[] getDoubleArray(String key, String splitRegEx, String defaultValue) {
+        return get(s -> asDoubleArray(s, splitRegEx), key, defaultValue);
+    }
+
+    public Optional<double[]> getOptionalDoubleArray(String key, String splitRegEx) {
+        return getOptional(s -> asDoubleArray(s, splitRegEx), key);
+    }
+
+    public boolean[] getBooleanArray(String key, String splitRegEx) {
+        return get(s -> asBooleanArray(s, splitRegEx), key);
+    }
+
+    public boolean[] getBooleanArray(String key, String splitRegEx, String defaultValue) {
+        return get(s -> asBooleanArray(s, splitRegEx), key, defaultValue);
+    }
+
+    public Optional<boolean[]> getOptionalBooleanArray(String key, String splitRegEx) {
+        return getOptional(s -> asBooleanArray(s, splitRegEx), key);
+    }
+
+    public char[] getCharArray(String key, String splitRegEx) {
+        return get(s -> asCharArray(s, splitRegEx), key);
+    }
+
+    public char[] getCharArray(String key, String splitRegEx, String defaultValue) {
+        return get(s -> asCharArray(s, splitRegEx), key, defaultValue);
+    }
+
+    public Optional<char[]> getOptionalCharArray(String key, String splitRegEx) {
+        return getOptional(s -> asCharArray(s, splitRegEx), key);
+    }
+
+    public String[] getStringArray(String key, String splitRegEx) {
+        return get(s -> asStringArray(s, splitRegEx), key);
+    }
+
+    public String[] getStringArray(String key, String splitRegEx, String defaultValue) {
+        return get(s -> asStringArray(s, splitRegEx), key, defaultValue);
+    }
+
+    public Optional<String[]> getOptionalStringArray(String key, String splitRegEx) {
+        return getOptional(s -> asStringArray(s, splitRegEx), key);
+    }
+
     private <T, C extends Collection<T>> Collection<T> asCollection(Function<String, T> convert, Supplier<C> collectionFactory,
             String value, String splitRegEx) {
         return Stream.of(value.split(splitRegEx)).map(convert::apply).collect(Collectors.toCollection(collectionFactory));
@@ -368,4 +460,53 @@ public final class ConfigHolder {
                     mapFactory));
         // @formatter:on
     }
+
+    private static int[] asIntArray(String value, String splitRegEx) {
+        String[] parts = value.split(splitRegEx);
+        int[] result = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            result[i] = Integer.parseInt(parts[i]);
+        }
+        return result;
+    }
+
+    private static long[] asLongArray(String value, String splitRegEx) {
+        String[] parts = value.split(splitRegEx);
+        long[] result = new long[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            result[i] = Long.parseLong(parts[i]);
+        }
+        return result;
+    }
+
+    private static double[] asDoubleArray(String value, String splitRegEx) {
+        String[] parts = value.split(splitRegEx);
+        double[] result = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            result[i] = Double.parseDouble(parts[i]);
+        }
+        return result;
+    }
+
+    private static boolean[] asBooleanArray(String value, String splitRegEx) {
+        String[] parts = value.split(splitRegEx);
+        boolean[] result = new boolean[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            result[i] = Boolean.parseBoolean(parts[i]);
+        }
+        return result;
+    }
+
+    private static char[] asCharArray(String value, String splitRegEx) {
+        String[] parts = value.split(splitRegEx);
+        char[] result = new char[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            result[i] = parts[i].charAt(0);
+        }
+        return result;
+    }
+
+    private static String[] asStringArray(String value, String splitRegEx) {
+        return value.split(splitRegEx);
+    }
 }
@@ -0,0 +1,110 @@
+/*
+* Copyright (C) 2021, Alexei Khatskevich
+*
+* Licensed under the BSD 3-Clause license.
+* You may obtain a copy of the License at
+*
+* https://github.com/Gmugra/net.cactusthorn.config/blob/main/LICENSE
+*
+* THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+* AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+* IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+* DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+* FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+* DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+* CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+* OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+* OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.cactusthorn.config.core.loader;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable view over several maps: a key is looked up through the layers in precedence order (first layer wins).
+ * The layers are not copied; the flattened map (for the size, the keys and the entries) is built only on demand.
+ */
+final class LayeredMap extends AbstractMap<String, String> {
+
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final List<Map<String, String>> layers;
+    private volatile Map<String, String> flattened;
+
+    private LayeredMap(List<Map<String, String>> layers) {
+        this.layers = layers;
+    }
+
+    /**
+     * @param layers in precedence order, empty layers are ignored
+     */
+    static Map<String, String> of(List<Map<String, String>> layers) {
+        layers.removeIf(Map::isEmpty);
+        if (layers.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        if (layers.size() == 1) {
+            return Collections.unmodifiableMap(layers.get(0));
+        }
+        return new LayeredMap(layers);
+    }
+
+    @Override public String get(Object key) {
+        for (Map<String, String> layer : layers) {
+            String value = layer.get(key);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    @Override public boolean containsKey(Object key) {
+        for (Map<String, String> layer : layers) {
+            if (layer.containsKey(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // at least two not empty layers
+    @Override public boolean isEmpty() {
+        return false;
+    }
+
+    @Override public int size() {
+        return flattened().size();
+    }
+
+    @Override public Set<String> keySet() {
+        return flattened().keySet();
+    }
+
+    @Override public Set<Map.Entry<String, String>> entrySet() {
+        return flattened().entrySet();
+    }
+
+    private Map<String, String> flattened() {
+        Map<String, String> result = flattened;
+        if (result == null) {
+            int size = 0;
+            for (Map<String, String> layer : layers) {
+                size += layer.size();
+            }
+            Map<String, String> all = new HashMap<>((int) (size / LOAD_FACTOR) + 1);
+            for (int i = layers.size() - 1; i >= 0; i--) {
+                all.putAll(layers.get(i));
+            }
+            result = Collections.unmodifiableMap(all);
+            flattened = result;
+        }
+        return result;
+    }
+}
@@ -19,51 +19,68 @@
 */
 package net.cactusthorn.config.core.loader;
 
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.TreeMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
 
 public enum LoadStrategy {
 
     // @formatter:off
-    FIRST(l -> first(new HashMap<>(), l)),
-    MERGE(l -> merge(new HashMap<>(), l)),
-    FIRST_KEYCASEINSENSITIVE(l -> first(new TreeMap<>(String.CASE_INSENSITIVE_ORDER), l)),
-    MERGE_KEYCASEINSENSITIVE(l -> merge(new TreeMap<>(String.CASE_INSENSITIVE_ORDER), l)),
-    UNKNOWN(l -> {
+    FIRST((l, m) -> LayeredMap.of(layers(m, Collections.singletonList(first(l))))),
+    MERGE((l, m) -> LayeredMap.of(layers(m, all(l)))),
+    FIRST_KEYCASEINSENSITIVE((l, m) -> CaseInsensitiveMap.of(layers(m, Collections.singletonList(first(l))))),
+    MERGE_KEYCASEINSENSITIVE((l, m) -> CaseInsensitiveMap.of(layers(m, all(l)))),
+    UNKNOWN((l, m) -> {
         throw new UnsupportedOperationException();
     });
     // @formatter:on
 
-    private final Function<List<Map<String, String>>, Map<String, String>> strategy;
+    private final BiFunction<List<Supplier<Map<String, String>>>, Map<String, String>, Map<String, String>> strategy;
 
-    LoadStrategy(Function<List<Map<String, String>>, Map<String, String>> strategy) {
+    LoadStrategy(BiFunction<List<Supplier<Map<String, String>>>, Map<String, String>, Map<String, String>> strategy) {
         this.strategy = strategy;
     }
 
     public Map<String, String> combine(List<Map<String, String>> properties, Map<String, String> manualProperties) {
-        Map<String, String> result = strategy.apply(properties);
-        result.putAll(manualProperties); // Map with properties is always has highest priority
-        return Collections.unmodifiableMap(result);
+        List<Supplier<Map<String, String>>> sources = new ArrayList<>(properties.size());
+        properties.forEach(p -> sources.add(() -> p));
+        return load(sources, manualProperties);
     }
 
-    private static Map<String, String> first(Map<String, String> result, List<Map<String, String>> list) {
-        for (Map<String, String> uriProperties : list) {
+    /**
+     * Same with {@link #combine(List, Map)}, but the sources are requested only when the strategy needs them:
+     * {@code FIRST} strategies stop at the first not empty source.
+     */
+    public Map<String, String> load(List<Supplier<Map<String, String>>> sources, Map<String, String> manualProperties) {
+        return strategy.apply(sources, manualProperties);
+    }
+
+    private static Map<String, String> first(List<Supplier<Map<String, String>>> list) {
+        for (Supplier<Map<String, String>> source : list) {
+            Map<String, String> uriProperties = source.get();
             if (!uriProperties.isEmpty()) {
-                result.putAll(uriProperties);
-                break;
+                return uriProperties;
             }
         }
-        return result;
+        return Collections.emptyMap();
     }
 
-    private static Map<String, String> merge(Map<String, String> result, List<Map<String, String>> list) {
-        for (int i = list.size() - 1; i >= 0; i--) {
-            result.putAll(list.get(i));
+    private static List<Map<String, String>> all(List<Supplier<Map<String, String>>> list) {
+        List<Map<String, String>> result = new ArrayList<>(list.size());
+        for (Supplier<Map<String, String>> source : list) {
+            result.add(source.get());
         }
         return result;
     }
+
+    // Map with properties is always has highest priority
+    private static List<Map<String, String>> layers(Map<String, String> manualProperties, List<Map<String, String>> list) {
+        List<Map<String, String>> layers = new ArrayList<>(list.size() + 1);
+        layers.add(manualProperties);
+        layers.addAll(list);
+        return layers;
+    }
 }
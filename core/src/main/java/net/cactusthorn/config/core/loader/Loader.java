@@ -20,7 +20,9 @@
 package net.cactusthorn.config.core.loader;
 
 import java.net.URI;
+import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
 
 public interface Loader {
 
@@ -32,6 +34,24 @@ public interface Loader {
      */
     boolean accept(URI uri);
 
+     /**
+     * URI schemes which the Loader is able to accept. Used to skip the Loader without calling {@link #accept(URI)}.
+     *
+     * @return schemes, empty Set means any scheme.
+     */
+    default Set<String> schemes() {
+        return Collections.emptySet();
+    }
+
+     /**
+     * Endings of the URI scheme-specific part which the Loader is able to accept (e.g. ".properties").
+     *
+     * @return extensions, empty Set means any extension.
+     */
+    default Set<String> extensions() {
+        return Collections.emptySet();
+    }
+
      /**
      * Loads the given {@link URI uri}
      *
@@ -39,4 +59,28 @@ public interface Loader {
      * @return immutable Map, can't be null.
      */
     Map<String, String> load(URI uri, ClassLoader classLoader);
+
+     /**
+     * Loads the given {@link URI uri}, when only some keys are needed (e.g. the keys of a config-interface). Loader
+     * can skip other entries while parsing, but it is not required to.
+     *
+     * @param uri the {@link URI} from where to load the properties.
+     * @param keys the keys which will be requested from the result.
+     * @return immutable Map, can't be null, can contain other keys too.
+     */
+    default Map<String, String> load(URI uri, ClassLoader classLoader, Set<String> keys) {
+        return load(uri, classLoader);
+    }
+
+     /**
+     * Loads the given {@link URI uri} again, when the cached result is expired or must be refreshed. Loader can use
+     * the previous result to skip the loading (e.g. conditional HTTP request), but it is not required to.
+     *
+     * @param uri the {@link URI} from where to load the properties.
+     * @param previous the result of the previous loading of the same URI.
+     * @return immutable Map, can't be null.
+     */
+    default Map<String, String> reload(URI uri, ClassLoader classLoader, Map<String, String> previous) {
+        return load(uri, classLoader);
+    }
 }
@@ -23,23 +23,82 @@ import static net.cactusthorn.config.core.util.ApiMessages.*;
 import static net.cactusthorn.config.core.util.ApiMessages.Key.*;
 
 import java.net.URI;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
 
 import net.cactusthorn.config.core.util.VariablesParser;
 
 public final class Loaders {
 
+    private static final Logger LOG = Logger.getLogger(Loaders.class.getName());
+
+    // pool for parallel loading when the caller doesn't provide an executor: loading is blocking I/O, so the pool is
+    // not bounded, one slow source must not delay the sources of other factories; idle threads are released
+    private static final class DefaultExecutor {
+        private static final ExecutorService INSTANCE = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "config-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // pool for asynchronous loading when the caller doesn't provide an executor: the task blocks on the sources
+    // (I/O, or waiting for the parallel loading pool), so neither ForkJoinPool.commonPool() nor the loading pool
+    private static final class DefaultAsyncExecutor {
+        private static final ExecutorService INSTANCE = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "config-async");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static Executor defaultExecutor() {
+        return DefaultExecutor.INSTANCE;
+    }
+
+    public static Executor defaultAsyncExecutor() {
+        return DefaultAsyncExecutor.INSTANCE;
+    }
+
+    /**
+     * @return path of the {@code file:} source; {@code file:./my.properties} is opaque URI, relative to the working
+     *         directory; fragment (charset) is not part of the path
+     */
+    public static Path filePath(URI uri) {
+        if (uri.isOpaque()) {
+            return Paths.get(uri.getSchemeSpecificPart());
+        }
+        return Paths.get(URI.create(uri.getScheme() + ':' + uri.getRawSchemeSpecificPart()));
+    }
+
     public static final class UriTemplate {
         private URI uri;
-        private String template;
-        private boolean variable = false;
+        private VariablesParser template;
         private boolean cachable = true;
 
         public UriTemplate(URI uri, boolean cachable) {
@@ -47,21 +106,28 @@ public final class Loaders {
         }
 
         public UriTemplate(String template, boolean cachable) {
-            this.template = replace(template, cachable);
-            if (template.indexOf("{") != -1) {
-                variable = true;
+            String prepared = replace(template, cachable);
+            if (prepared.indexOf("{") != -1) {
+                this.template = new VariablesParser(prepared);
             } else {
-                uri = URI.create(this.template);
+                uri = URI.create(prepared);
             }
         }
 
-        @SuppressWarnings({ "rawtypes", "unchecked" }) URI uri() {
-            if (!variable) {
+        URI uri() {
+            if (template == null) {
                 return uri;
             }
-            Map<String, String> values = new HashMap<>(System.getenv());
-            values.putAll((Map) System.getProperties());
-            return URI.create(new VariablesParser(template).replace(values));
+            return URI.create(template.resolve(UriTemplate::variable));
+        }
+
+        // only referenced variables are looked up: system property first, then environment variable
+        private static String variable(String name) {
+            String value = System.getProperty(name);
+            if (value == null) {
+                value = System.getenv(name);
+            }
+            return value;
         }
 
         boolean cachable() {
@@ -94,25 +160,123 @@ public final class Loaders {
         }
     }
 
-    private final ConcurrentHashMap<URI, Map<String, String>> cache = new ConcurrentHashMap<>();
+    private static final class HolderKey {
+        private final LoadStrategy strategy;
+        private final List<URI> uris;
+        private final Set<String> keys;
+
+        private HolderKey(LoadStrategy strategy, List<URI> uris, Set<String> keys) {
+            this.strategy = strategy;
+            this.uris = uris;
+            this.keys = keys;
+        }
+
+        @Override public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            }
+            if (!(o instanceof HolderKey)) {
+                return false;
+            }
+            HolderKey other = (HolderKey) o;
+            return strategy == other.strategy && uris.equals(other.uris) && Objects.equals(keys, other.keys);
+        }
+
+        @Override public int hashCode() {
+            return Objects.hash(strategy, uris, keys);
+        }
+    }
+
+    private static final class Holder {
+        private final ConfigHolder holder;
+        // cached sources (or null, if not cached) used for the combining
+        private final List<Map<String, String>> sources;
+
+        private Holder(ConfigHolder holder, List<Map<String, String>> sources) {
+            this.holder = holder;
+            this.sources = sources;
+        }
+    }
+
+    // combined properties of the cachable sources, shared by all config-interfaces with the same sources
+    private final ConcurrentHashMap<HolderKey, Holder> holders = new ConcurrentHashMap<>();
+    private final SourceCache cache;
+
+    private static final String FILE_SCHEME = "file";
+    private static final Duration RELOAD_DEBOUNCE = Duration.ofMillis(100);
+    private static final int INITIAL_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    // per resolved URI (templates can produce any number of them): bounded by the cache policy, as the cache itself
+    private final Set<URI> fileSources;
+    private final List<Runnable> reloadListeners = new CopyOnWriteArrayList<>();
+    private volatile SourceWatcher watcher;
+    private final ConcurrentHashMap<String, List<Loader>> loadersByScheme = new ConcurrentHashMap<>();
+    private final Map<URI, Loader> resolvedLoaders;
+    private final ConcurrentHashMap<String, UriTemplate> compiledTemplates = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UriTemplate, URI> snapshotUris = new ConcurrentHashMap<>();
 
     private final LoadStrategy loadStrategy;
     private final LinkedHashSet<UriTemplate> templates;
     private final Deque<Loader> loaders;
     private final Map<String, String> properties;
+    private final Executor executor;
+    private final Duration sourceTimeout;
+    private final boolean snapshot;
 
     public Loaders(LoadStrategy loadStrategy, LinkedHashSet<UriTemplate> templates, Deque<Loader> loaders, Map<String, String> properties) {
+        this(loadStrategy, templates, loaders, properties, null, null, false, CachePolicy.unbounded());
+    }
+
+    // executor == null : sequential loading; sourceTimeout is used only with parallel loading;
+    // snapshot : variables in the URI templates are resolved only once
+    public Loaders(LoadStrategy loadStrategy, LinkedHashSet<UriTemplate> templates, Deque<Loader> loaders, Map<String, String> properties,
+            Executor executor, Duration sourceTimeout, boolean snapshot, CachePolicy cachePolicy) {
         this.loadStrategy = loadStrategy;
         this.templates = templates;
         this.loaders = loaders;
         this.properties = properties;
+        this.executor = executor;
+        this.sourceTimeout = sourceTimeout;
+        this.snapshot = snapshot;
+        cache = new SourceCache(cachePolicy, executor == null ? defaultExecutor() : executor,
+                uri -> holders.keySet().removeIf(k -> k.uris.contains(uri)));
+        fileSources = Collections.newSetFromMap(bounded(cachePolicy.maximumSize()));
+        resolvedLoaders = bounded(cachePolicy.maximumSize());
+    }
+
+    // least recently used entries are dropped, when there are more than maximum size entries
+    private static <K, V> Map<K, V> bounded(long maximumSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<K, V>(INITIAL_CAPACITY, LOAD_FACTOR, true) {
+            private static final long serialVersionUID = 0L;
+
+            @Override protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maximumSize;
+            }
+        });
     }
 
     public ConfigHolder load(ClassLoader classLoader) {
-        return load(classLoader, loadStrategy, templates);
+        return load(classLoader, loadStrategy, templates, null);
+    }
+
+    public CompletableFuture<ConfigHolder> loadAsync(ClassLoader classLoader) {
+        return loadAsync(classLoader, defaultAsyncExecutor());
+    }
+
+    public CompletableFuture<ConfigHolder> loadAsync(ClassLoader classLoader, Executor asyncExecutor) {
+        return CompletableFuture.supplyAsync(() -> load(classLoader), asyncExecutor);
     }
 
     public ConfigHolder load(ClassLoader classLoader, LoadStrategy strategy, String[] uris) {
+        return load(classLoader, strategy, uris, null);
+    }
+
+    /**
+     * @param keys the only keys the config-interface reads (known at compile time); the result contains only them.
+     *             null means all keys.
+     */
+    public ConfigHolder load(ClassLoader classLoader, LoadStrategy strategy, String[] uris, Set<String> keys) {
         LoadStrategy withStrategy = strategy == LoadStrategy.UNKNOWN ? loadStrategy : strategy;
         LinkedHashSet<UriTemplate> withTemplates;
         if (uris.length == 1 && "".equals(uris[0])) {
@@ -120,26 +284,237 @@ public final class Loaders {
         } else {
             withTemplates = new LinkedHashSet<>();
             for (String uri : uris) {
-                withTemplates.add(new UriTemplate(uri, true));
+                withTemplates.add(compiledTemplates.computeIfAbsent(uri, u -> new UriTemplate(u, true)));
             }
         }
-        return load(classLoader, withStrategy, withTemplates);
+        return load(classLoader, withStrategy, withTemplates, keys);
     }
 
-    private ConfigHolder load(ClassLoader classLoader, LoadStrategy strategy, LinkedHashSet<UriTemplate> uriTemplates) {
-        List<Map<String, String>> values = new ArrayList<>();
+    private ConfigHolder load(ClassLoader classLoader, LoadStrategy strategy, LinkedHashSet<UriTemplate> uriTemplates, Set<String> keys) {
+        List<URI> uris = new ArrayList<>(uriTemplates.size());
+        List<Boolean> cachable = new ArrayList<>(uriTemplates.size());
         for (UriTemplate template : uriTemplates) {
-            URI uri = template.uri();
-            Loader loader = loaders.stream().filter(l -> l.accept(uri)).findFirst()
-                    .orElseThrow(() -> new UnsupportedOperationException(msg(LOADER_NOT_FOUND, uri)));
-            Map<String, String> uriProperties;
-            if (template.cachable()) {
-                uriProperties = cache.computeIfAbsent(uri, u -> loader.load(u, classLoader));
-            } else {
-                uriProperties = loader.load(uri, classLoader);
+            uris.add(resolve(template));
+            cachable.add(template.cachable());
+        }
+        if (cachable.contains(Boolean.FALSE)) {
+            return combine(classLoader, strategy, uris, cachable, keys, new AtomicBoolean());
+        }
+        HolderKey key = new HolderKey(strategy, uris, keys);
+        Holder holder = holders.get(key);
+        if (holder != null && valid(holder, uris)) {
+            return holder.holder;
+        }
+        List<Map<String, String>> before = new ArrayList<>(uris.size());
+        uris.forEach(u -> before.add(cache.peek(u)));
+        AtomicBoolean incomplete = new AtomicBoolean();
+        ConfigHolder configHolder = combine(classLoader, strategy, uris, cachable, keys, incomplete);
+        List<Map<String, String>> sources = new ArrayList<>(uris.size());
+        for (int i = 0; i < uris.size(); i++) {
+            Map<String, String> source = cache.peek(uris.get(i));
+            if (before.get(i) != null && before.get(i) != source || source == null && cache.expired(uris.get(i))) {
+                // changed by someone else during the combining, or already expired
+                incomplete.set(true);
+            }
+            sources.add(source);
+        }
+        if (!incomplete.get()) {
+            holders.put(key, new Holder(configHolder, sources));
+        }
+        return configHolder;
+    }
+
+    // the combined properties are valid while the cached sources are the same; checking them is not a cache hit
+    private boolean valid(Holder holder, List<URI> uris) {
+        for (int i = 0; i < uris.size(); i++) {
+            if (cache.peekUsed(uris.get(i)) != holder.sources.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ConfigHolder combine(ClassLoader classLoader, LoadStrategy strategy, List<URI> uris, List<Boolean> cachable,
+            Set<String> keys, AtomicBoolean incomplete) {
+        // not cached sources can be filtered by the loaders; only with MERGE: FIRST needs to know whether the whole
+        // source is empty, and case-insensitive strategies need the keys in any case
+        Set<String> sourceKeys = strategy == LoadStrategy.MERGE ? keys : null;
+        List<Supplier<Map<String, String>>> sources;
+        if (executor == null || uris.size() < 2) {
+            // the strategy decides which sources are really loaded (e.g. FIRST stops at the first not empty source)
+            sources = new ArrayList<>(uris.size());
+            for (int i = 0; i < uris.size(); i++) {
+                URI uri = uris.get(i);
+                boolean cached = cachable.get(i);
+                sources.add(() -> load(classLoader, findLoader(uri), uri, cached, sourceKeys));
+            }
+        } else {
+            sources = loadParallel(classLoader, uris, cachable, sourceKeys, incomplete);
+        }
+        Map<String, String> combined = strategy.load(sources, properties);
+        return new ConfigHolder(keys == null ? combined : select(combined, keys));
+    }
+
+    // the holder keeps only the values the config-interface reads, and not the (maybe huge) combined sources
+    private static Map<String, String> select(Map<String, String> combined, Set<String> keys) {
+        Map<String, String> selected = new HashMap<>((int) (keys.size() / LOAD_FACTOR) + 1);
+        for (String key : keys) {
+            String value = combined.get(key);
+            if (value != null) {
+                selected.put(key, value);
+            }
+        }
+        return Collections.unmodifiableMap(selected);
+    }
+
+    // every source is requested at once, results are awaited in the order of the templates
+    private List<Supplier<Map<String, String>>> loadParallel(ClassLoader classLoader, List<URI> uris, List<Boolean> cachable,
+            Set<String> keys, AtomicBoolean incomplete) {
+        long deadline = sourceTimeout == null ? 0L : System.nanoTime() + sourceTimeout.toNanos();
+        List<Supplier<Map<String, String>>> sources = new ArrayList<>(uris.size());
+        for (int i = 0; i < uris.size(); i++) {
+            URI uri = uris.get(i);
+            boolean cached = cachable.get(i);
+            Loader loader = findLoader(uri);
+            // FutureTask, not CompletableFuture: only FutureTask interrupts the running load on cancel
+            FutureTask<Map<String, String>> task = new FutureTask<>(() -> load(classLoader, loader, uri, cached, keys));
+            executor.execute(task);
+            // cached source is loaded once for everybody: the interrupted loader would return empty map, which would
+            // stay in the cache; the load is left to complete, only this result doesn't wait for it
+            sources.add(() -> await(task, uri, !cached, deadline, incomplete));
+        }
+        return sources;
+    }
+
+    private Map<String, String> await(Future<Map<String, String>> future, URI uri, boolean interrupt, long deadline,
+            AtomicBoolean incomplete) {
+        try {
+            if (sourceTimeout == null) {
+                return future.get();
+            }
+            return future.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // the source is not needed anymore: the thread must not stay busy with it
+            future.cancel(interrupt);
+            LOG.info(msg(SOURCE_TIMEOUT, uri, sourceTimeout));
+            incomplete.set(true);
+            return Collections.emptyMap();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public void invalidate(URI uri) {
+        cache.invalidate(uri);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+        holders.clear();
+    }
+
+    public CacheStats cacheStats() {
+        return cache.stats();
+    }
+
+    /**
+     * The listener is called after some of loaded {@code file:} sources are changed. The changed sources are already
+     * invalidated in the cache at the moment. The first listener starts the watching.
+     */
+    public void addReloadListener(Runnable listener) {
+        synchronized (reloadListeners) {
+            reloadListeners.add(listener);
+            if (watcher == null) {
+                SourceWatcher sourceWatcher = new SourceWatcher(RELOAD_DEBOUNCE, this::reload);
+                watcher = sourceWatcher;
+                fileSources.forEach(sourceWatcher::watch);
+            }
+        }
+    }
+
+    /**
+     * The last listener stops the watching: the watching thread exits.
+     */
+    public void removeReloadListener(Runnable listener) {
+        synchronized (reloadListeners) {
+            if (reloadListeners.remove(listener) && reloadListeners.isEmpty() && watcher != null) {
+                watcher.close();
+                watcher = null;
+            }
+        }
+    }
+
+    private void reload(Set<URI> changed) {
+        changed.forEach(cache::invalidate);
+        reloadListeners.forEach(Runnable::run);
+    }
+
+    private URI resolve(UriTemplate template) {
+        if (snapshot) {
+            return snapshotUris.computeIfAbsent(template, UriTemplate::uri);
+        }
+        return template.uri();
+    }
+
+    private Loader findLoader(URI uri) {
+        return resolvedLoaders.computeIfAbsent(uri, this::resolveLoader);
+    }
+
+    private Loader resolveLoader(URI uri) {
+        String scheme = uri.getScheme() == null ? "" : uri.getScheme();
+        String schemeSpecificPart = uri.getSchemeSpecificPart();
+        for (Loader loader : loadersByScheme.computeIfAbsent(scheme, this::loadersForScheme)) {
+            if (acceptExtension(loader, schemeSpecificPart) && loader.accept(uri)) {
+                return loader;
             }
-            values.add(uriProperties);
         }
-        return new ConfigHolder(strategy.combine(values, properties));
+        throw new UnsupportedOperationException(msg(LOADER_NOT_FOUND, uri));
+    }
+
+    // keeps the order of the loaders
+    private List<Loader> loadersForScheme(String scheme) {
+        List<Loader> result = new ArrayList<>();
+        for (Loader loader : loaders) {
+            Set<String> schemes = loader.schemes();
+            if (schemes.isEmpty() || schemes.contains(scheme)) {
+                result.add(loader);
+            }
+        }
+        return result;
+    }
+
+    private static boolean acceptExtension(Loader loader, String schemeSpecificPart) {
+        Set<String> extensions = loader.extensions();
+        if (extensions.isEmpty()) {
+            return true;
+        }
+        for (String extension : extensions) {
+            if (schemeSpecificPart.endsWith(extension)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Map<String, String> load(ClassLoader classLoader, Loader loader, URI uri, boolean cachable, Set<String> keys) {
+        if (FILE_SCHEME.equals(uri.getScheme()) && fileSources.add(uri)) {
+            SourceWatcher sourceWatcher = watcher;
+            if (sourceWatcher != null) {
+                sourceWatcher.watch(uri);
+            }
+        }
+        if (cachable) {
+            // cached sources are shared by all config-interfaces, so they are never filtered
+            // previous value (expired or to refresh) is given to the loader, e.g. for a conditional HTTP request
+            return cache.get(uri,
+                    (u, previous) -> previous == null ? loader.load(u, classLoader) : loader.reload(u, classLoader, previous));
+        }
+        return keys == null ? loader.load(uri, classLoader) : loader.load(uri, classLoader, keys);
     }
 }
@@ -0,0 +1,290 @@
+/*
+* Copyright (C) 2021, Alexei Khatskevich
+*
+* Licensed under the BSD 3-Clause license.
+* You may obtain a copy of the License at
+*
+* https://github.com/Gmugra/net.cactusthorn.config/blob/main/LICENSE
+*
+* THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+* AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+* IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+* DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+* FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+* DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+* CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+* OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+* OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.cactusthorn.config.core.loader;
+
+import java.net.URI;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Cache of loaded sources, driven by {@link CachePolicy}. Least recently used entries are evicted when the size or
+ * the weight limit is exceeded.
+ */
+final class SourceCache {
+
+    private static final Logger LOG = Logger.getLogger(SourceCache.class.getName());
+    private static final int INITIAL_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final class Entry {
+        private final Map<String, String> value;
+        private final BiFunction<URI, Map<String, String>, Map<String, String>> loader;
+        private final long writeTime = System.nanoTime();
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Entry(Map<String, String> value, BiFunction<URI, Map<String, String>, Map<String, String>> loader) {
+            this.value = value;
+            this.loader = loader;
+        }
+
+        private boolean expired(long now) {
+            return now - writeTime >= policy.expireAfterWriteNanos();
+        }
+
+        private boolean refreshNeeded(long now) {
+            return now - writeTime >= policy.refreshAfterWriteNanos();
+        }
+    }
+
+    // in-flight load; invalidated while loading means the result is not cached
+    private static final class Load extends CompletableFuture<Map<String, String>> {
+        private volatile boolean invalidated;
+    }
+
+    private final ConcurrentHashMap<URI, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<URI, Load> loading = new ConcurrentHashMap<>();
+    private final AtomicLong weight = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    // access-ordered: the eldest entry is the least recently used one; only for bounded cache, so the hits of the
+    // unbounded cache stay lock-free
+    private final LinkedHashMap<URI, Entry> usage;
+
+    private final CachePolicy policy;
+    private final Executor refreshExecutor;
+    private final Consumer<URI> removalListener;
+
+    SourceCache(CachePolicy policy, Executor refreshExecutor, Consumer<URI> removalListener) {
+        this.policy = policy;
+        this.refreshExecutor = refreshExecutor;
+        this.removalListener = removalListener;
+        boolean bounded = policy.maximumSize() != Long.MAX_VALUE || policy.maximumWeight() != Long.MAX_VALUE;
+        usage = bounded ? new LinkedHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, true) : null;
+    }
+
+    Map<String, String> get(URI uri, Function<URI, Map<String, String>> loader) {
+        return get(uri, (u, previous) -> loader.apply(u));
+    }
+
+    /**
+     * @param loader gets the URI and the previous value: the value of the expired entry (for the refresh, the value
+     *               of the entry itself), null when there is no such value (e.g. the entry is invalidated)
+     */
+    Map<String, String> get(URI uri, BiFunction<URI, Map<String, String>, Map<String, String>> loader) {
+        Entry previous = entries.get(uri);
+        Map<String, String> value = getIfPresent(uri);
+        if (value != null) {
+            return value;
+        }
+        misses.increment();
+        // single-flight: concurrent requests for the same URI share one load, the load itself runs outside of any lock
+        Load load = new Load();
+        Load inProgress = loading.putIfAbsent(uri, load);
+        if (inProgress != null) {
+            return await(inProgress);
+        }
+        try {
+            value = peek(uri);
+            if (value == null) {
+                boolean expired = previous != null && previous.expired(System.nanoTime());
+                Entry entry = new Entry(loader.apply(uri, expired ? previous.value : null), loader);
+                Entry old = entries.put(uri, entry);
+                weight.addAndGet(entry.value.size() - (old == null ? 0 : old.value.size()));
+                used(uri, entry);
+                value = entry.value;
+                // invalidate sets the flag first and removes the entry then: the entry is removed by one of them
+                if (load.invalidated) {
+                    remove(uri, entry);
+                }
+            }
+            load.complete(value);
+        } catch (RuntimeException | Error e) {
+            // failed load is not cached
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(uri, load);
+        }
+        evictIfNeeded();
+        return value;
+    }
+
+    private static Map<String, String> await(CompletableFuture<Map<String, String>> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @return cached value or null, if the value is not cached or expired. Starts refresh, if it's time.
+     */
+    Map<String, String> getIfPresent(URI uri) {
+        return getIfPresent(uri, true);
+    }
+
+    /**
+     * Same as {@link #peek}, but starts refresh, if it's time, and keeps the entry from the eviction as used one.
+     * Not counted as hit: the source is not requested, only checked (e.g. memoized combined properties).
+     */
+    Map<String, String> peekUsed(URI uri) {
+        return getIfPresent(uri, false);
+    }
+
+    private Map<String, String> getIfPresent(URI uri, boolean countHit) {
+        Entry entry = entries.get(uri);
+        if (entry == null) {
+            return null;
+        }
+        long now = System.nanoTime();
+        if (entry.expired(now)) {
+            // stays until the next load replaces it: the value is the previous one for that load
+            return null;
+        }
+        if (countHit) {
+            hits.increment();
+        }
+        used(uri, null);
+        if (entry.refreshNeeded(now) && entry.refreshing.compareAndSet(false, true)) {
+            refreshExecutor.execute(() -> refresh(uri, entry));
+        }
+        return entry.value;
+    }
+
+    /**
+     * @return cached value or null, without any side effects (statistics, refresh)
+     */
+    Map<String, String> peek(URI uri) {
+        Entry entry = entries.get(uri);
+        if (entry == null || entry.expired(System.nanoTime())) {
+            return null;
+        }
+        return entry.value;
+    }
+
+    boolean expired(URI uri) {
+        Entry entry = entries.get(uri);
+        return entry != null && entry.expired(System.nanoTime());
+    }
+
+    private void refresh(URI uri, Entry entry) {
+        try {
+            Entry refreshed = new Entry(entry.loader.apply(uri, entry.value), entry.loader);
+            if (entries.replace(uri, entry, refreshed)) {
+                weight.addAndGet(refreshed.value.size() - entry.value.size());
+                used(uri, refreshed);
+                removalListener.accept(uri);
+                evictIfNeeded();
+            }
+        } catch (RuntimeException e) {
+            LOG.log(Level.FINE, e.getMessage(), e);
+            entry.refreshing.set(false);
+        }
+    }
+
+    void invalidate(URI uri) {
+        Load load = loading.get(uri);
+        if (load != null) {
+            load.invalidated = true;
+        }
+        Entry entry = entries.get(uri);
+        if (entry != null) {
+            remove(uri, entry);
+        }
+    }
+
+    void invalidateAll() {
+        loading.values().forEach(load -> load.invalidated = true);
+        entries.forEach(this::remove);
+    }
+
+    CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.size());
+    }
+
+    /**
+     * @param entry new (or refreshed) entry; null means the access to the existing one
+     */
+    private void used(URI uri, Entry entry) {
+        if (usage == null) {
+            return;
+        }
+        synchronized (usage) {
+            if (entry == null) {
+                usage.get(uri);
+            } else {
+                usage.put(uri, entry);
+            }
+        }
+    }
+
+    private boolean remove(URI uri, Entry entry) {
+        if (entries.remove(uri, entry)) {
+            weight.addAndGet(-entry.value.size());
+            if (usage != null) {
+                synchronized (usage) {
+                    usage.remove(uri, entry);
+                }
+            }
+            removalListener.accept(uri);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean overflow() {
+        return entries.size() > policy.maximumSize() || weight.get() > policy.maximumWeight();
+    }
+
+    private void evictIfNeeded() {
+        if (usage == null || !overflow()) {
+            return;
+        }
+        synchronized (usage) {
+            Iterator<Map.Entry<URI, Entry>> eldest = usage.entrySet().iterator();
+            while (overflow() && eldest.hasNext()) {
+                Map.Entry<URI, Entry> e = eldest.next();
+                // removed from the usage in any case: the entry can be already replaced or removed concurrently
+                eldest.remove();
+                if (remove(e.getKey(), e.getValue())) {
+                    evictions.increment();
+                }
+            }
+        }
+    }
+}
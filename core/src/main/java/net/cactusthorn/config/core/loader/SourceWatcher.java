@@ -0,0 +1,146 @@
+/*
+* Copyright (C) 2021, Alexei Khatskevich
+*
+* Licensed under the BSD 3-Clause license.
+* You may obtain a copy of the License at
+*
+* https://github.com/Gmugra/net.cactusthorn.config/blob/main/LICENSE
+*
+* THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+* AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+* IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+* DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+* FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+* DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+* CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+* OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+* OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.cactusthorn.config.core.loader;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Watches the directories of {@code file:} sources. Events are collected until there are no new events during the
+ * debounce time, then all changed sources are reported at once.
+ */
+final class SourceWatcher implements Runnable, Closeable {
+
+    private static final Logger LOG = Logger.getLogger(SourceWatcher.class.getName());
+
+    private final ConcurrentHashMap<Path, Set<URI>> files = new ConcurrentHashMap<>();
+    private final Set<Path> directories = ConcurrentHashMap.newKeySet();
+
+    private final WatchService watchService;
+    private final long debounceMillis;
+    private final Consumer<Set<URI>> onChange;
+
+    SourceWatcher(Duration debounce, Consumer<Set<URI>> onChange) {
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        this.debounceMillis = debounce.toMillis();
+        this.onChange = onChange;
+        Thread thread = new Thread(this, "config-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void watch(URI uri) {
+        Path file;
+        try {
+            file = Loaders.filePath(uri).toAbsolutePath().normalize();
+        } catch (RuntimeException e) {
+            LOG.log(Level.FINE, e.getMessage(), e);
+            return;
+        }
+        files.computeIfAbsent(file, f -> ConcurrentHashMap.newKeySet()).add(uri);
+        Path directory = file.getParent();
+        if (directory != null && directories.add(directory)) {
+            try {
+                directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+            } catch (IOException | ClosedWatchServiceException e) {
+                // closed: the last listener is removed concurrently
+                directories.remove(directory);
+                LOG.log(Level.FINE, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Closes the watch service: the thread exits.
+     */
+    @Override public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            LOG.log(Level.FINE, e.getMessage(), e);
+        }
+    }
+
+    @Override public void run() {
+        try {
+            while (true) {
+                Set<URI> changed = new HashSet<>();
+                collect(watchService.take(), changed);
+                WatchKey key;
+                while ((key = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS)) != null) {
+                    collect(key, changed);
+                }
+                if (!changed.isEmpty()) {
+                    notify(changed);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void notify(Set<URI> changed) {
+        try {
+            onChange.accept(changed);
+        } catch (RuntimeException e) {
+            LOG.log(Level.WARNING, e.getMessage(), e);
+        }
+    }
+
+    private void collect(WatchKey key, Set<URI> changed) {
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                files.forEach((file, uris) -> {
+                    if (directory.equals(file.getParent())) {
+                        changed.addAll(uris);
+                    }
+                });
+            } else {
+                Set<URI> uris = files.get(directory.resolve((Path) event.context()));
+                if (uris != null) {
+                    changed.addAll(uris);
+                }
+            }
+        }
+        key.reset();
+    }
+}
@@ -33,6 +33,7 @@ import java.net.URL;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -45,6 +46,10 @@ public class ClasspathJarManifestLoader implements Loader {
     private static final String SUB_PREFIX = "jar:manifest?";
     private static final String PREFIX = "classpath:" + SUB_PREFIX;
 
+    @Override public Set<String> schemes() {
+        return Collections.singleton("classpath");
+    }
+
     @Override public boolean accept(URI uri) {
         return uri.toString().startsWith(PREFIX);
     }
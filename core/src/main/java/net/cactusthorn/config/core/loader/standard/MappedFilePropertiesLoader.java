@@ -0,0 +1,84 @@
+/*
+* Copyright (C) 2021, Alexei Khatskevich
+*
+* Licensed under the BSD 3-Clause license.
+* You may obtain a copy of the License at
+*
+* https://github.com/Gmugra/net.cactusthorn.config/blob/main/LICENSE
+*
+* THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+* AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+* IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+* DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+* FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+* DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+* CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+* OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+* OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.cactusthorn.config.core.loader.standard;
+
+import static net.cactusthorn.config.core.util.ApiMessages.msg;
+import static net.cactusthorn.config.core.util.ApiMessages.Key.CANT_LOAD_RESOURCE;
+
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import net.cactusthorn.config.core.loader.Loader;
+import net.cactusthorn.config.core.loader.Loaders;
+import net.cactusthorn.config.core.util.PropertiesToMapParser;
+
+/**
+ * Loads {@code file:} properties files through {@link FileChannel#map}: keys are parsed straight from the mapped
+ * buffer, and a value is decoded only when it is requested for the first time. Not registered by default, because
+ * the file must not be changed in place while it is in use (replace it by moving a new file instead).
+ */
+public final class MappedFilePropertiesLoader implements Loader {
+
+    private static final Logger LOG = Logger.getLogger(MappedFilePropertiesLoader.class.getName());
+
+    private static final String SCHEME = "file";
+    private static final String EXTENTION = ".properties";
+
+    @Override public Set<String> schemes() {
+        return Collections.singleton(SCHEME);
+    }
+
+    @Override public Set<String> extensions() {
+        return Collections.singleton(EXTENTION);
+    }
+
+    @Override public boolean accept(URI uri) {
+        return SCHEME.equals(uri.getScheme()) && uri.getSchemeSpecificPart().endsWith(EXTENTION);
+    }
+
+    private static final PropertiesToMapParser PARSER = new PropertiesToMapParser();
+
+    @Override public Map<String, String> load(URI uri, ClassLoader classLoader) {
+        return load(uri, classLoader, null);
+    }
+
+    @Override public Map<String, String> load(URI uri, ClassLoader classLoader, Set<String> keys) {
+        try (FileChannel channel = FileChannel.open(Loaders.filePath(uri), StandardOpenOption.READ)) {
+            Charset charset = uri.getFragment() == null ? StandardCharsets.UTF_8 : Charset.forName(uri.getFragment());
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                return PARSER.parse(Channels.newInputStream(channel), charset, keys);
+            }
+            // the mapping stays valid after the channel is closed
+            return PARSER.parse(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), charset, keys);
+        } catch (Exception e) {
+            LOG.info(msg(CANT_LOAD_RESOURCE, uri.toString(), e.toString()));
+            return Collections.emptyMap();
+        }
+    }
+}
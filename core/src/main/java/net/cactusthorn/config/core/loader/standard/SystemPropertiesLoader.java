@@ -20,8 +20,10 @@
 package net.cactusthorn.config.core.loader.standard;
 
 import java.net.URI;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 import net.cactusthorn.config.core.loader.Loader;
 
@@ -30,6 +32,10 @@ public final class SystemPropertiesLoader implements Loader {
     private static final String SCHEME = "system";
     private static final String PART = "properties";
 
+    @Override public Set<String> schemes() {
+        return Collections.singleton(SCHEME);
+    }
+
     @Override public boolean accept(URI uri) {
         return uri.isOpaque() && SCHEME.equals(uri.getScheme()) && uri.getSchemeSpecificPart().equals(PART);
     }
@@ -38,4 +44,15 @@ public final class SystemPropertiesLoader implements Loader {
         return new HashMap<>((Map) System.getProperties());
     }
 
+    @Override public Map<String, String> load(URI uri, ClassLoader classLoader, Set<String> keys) {
+        Map<String, String> result = new HashMap<>();
+        for (String key : keys) {
+            String value = System.getProperty(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
 }
@@ -22,18 +22,15 @@ package net.cactusthorn.config.core.loader.standard;
 import static net.cactusthorn.config.core.util.ApiMessages.msg;
 import static net.cactusthorn.config.core.util.ApiMessages.Key.CANT_LOAD_RESOURCE;
 
-import java.io.BufferedReader;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
 import java.net.URI;
-import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Map;
-import java.util.Properties;
+import java.util.Set;
 import java.util.logging.Logger;
 
+import net.cactusthorn.config.core.loader.ConditionalRequests;
 import net.cactusthorn.config.core.loader.Loader;
+import net.cactusthorn.config.core.util.PropertiesToMapParser;
 
 public final class UrlPropertiesLoader implements Loader {
 
@@ -41,6 +38,10 @@ public final class UrlPropertiesLoader implements Loader {
 
     private static final String EXTENTION = ".properties";
 
+    @Override public Set<String> extensions() {
+        return Collections.singleton(EXTENTION);
+    }
+
     @Override public boolean accept(URI uri) {
         if (!uri.getSchemeSpecificPart().endsWith(EXTENTION)) {
             return false;
@@ -53,15 +54,24 @@ public final class UrlPropertiesLoader implements Loader {
         }
     }
 
+    private static final PropertiesToMapParser PARSER = new PropertiesToMapParser();
+
     @Override public Map<String, String> load(URI uri, ClassLoader classLoader) {
-        String charsetName = uri.getFragment() == null ? StandardCharsets.UTF_8.name() : uri.getFragment();
-        try (InputStream stream = uri.toURL().openStream();
-                Reader reader = new InputStreamReader(stream, charsetName);
-                BufferedReader buffer = new BufferedReader(reader)) {
-            Properties properties = new Properties();
-            properties.load(buffer);
-            @SuppressWarnings({ "unchecked", "rawtypes" }) Map<String, String> result = (Map) properties;
-            return result;
+        return reload(uri, classLoader, null);
+    }
+
+    @Override public Map<String, String> reload(URI uri, ClassLoader classLoader, Map<String, String> previous) {
+        try {
+            return ConditionalRequests.loadStream(uri, previous, PARSER::parse);
+        } catch (Exception e) {
+            LOG.info(msg(CANT_LOAD_RESOURCE, uri.toString(), e.toString()));
+            return Collections.emptyMap();
+        }
+    }
+
+    @Override public Map<String, String> load(URI uri, ClassLoader classLoader, Set<String> keys) {
+        try {
+            return ConditionalRequests.loadStream(uri, null, (stream, charset) -> PARSER.parse(stream, charset, keys));
         } catch (Exception e) {
             LOG.info(msg(CANT_LOAD_RESOURCE, uri.toString(), e.toString()));
             return Collections.emptyMap();
@@ -31,7 +31,7 @@ public final class ApiMessages {
     public enum Key {
         IS_NULL, IS_EMPTY, CANT_LOAD_RESOURCE, VALUE_NOT_FOUND, LOADER_NOT_FOUND, CANT_INVOKE_CONFIGBUILDER, CANT_FIND_CONFIGBUILDER,
         WRONG_SOURCE_PARAM, DURATION_NO_NUMBER, DURATION_WRONG_TIME_UNIT, PERIOD_NO_NUMBER, PERIOD_WRONG_TIME_UNIT, MANIFEST_NOT_FOUND_1,
-        MANIFEST_NOT_FOUND_2, INVALID_UNIT_STRING
+        MANIFEST_NOT_FOUND_2, INVALID_UNIT_STRING, SOURCE_TIMEOUT, IS_NEGATIVE
     }
 
     private ApiMessages() {
@@ -0,0 +1,82 @@
+/*
+* Copyright (C) 2021, Alexei Khatskevich
+*
+* Licensed under the BSD 3-Clause license.
+* You may obtain a copy of the License at
+*
+* https://github.com/Gmugra/net.cactusthorn.config/blob/main/LICENSE
+*
+* THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+* AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+* IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+* DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+* FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+* DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+* CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+* OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+* OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.cactusthorn.config.core.util;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Value equality used by the generated {@code equals}/{@code hashCode} for types whose own implementation is unsafe
+ * to call there: {@link URL#equals(Object)} and {@link URL#hashCode()} resolve the host name. URLs are compared by
+ * their external form, also inside of all supported containers: {@link Optional}, {@link List}, {@link Set} and
+ * {@link Map} values (and their combinations, e.g. {@code Optional<Set<URL>>}).
+ */
+public final class Equality {
+
+    private Equality() {
+    }
+
+    public static boolean equals(Object a, Object b) {
+        if (a == b) {
+            return true;
+        }
+        if (a == null || b == null) {
+            return false;
+        }
+        return normalized(a).equals(normalized(b));
+    }
+
+    public static int hashCode(Object value) {
+        return Objects.hashCode(normalized(value));
+    }
+
+    // the same value, with external forms instead of URLs; containers keep their equals/hashCode contracts
+    private static Object normalized(Object value) {
+        if (value instanceof URL) {
+            return ((URL) value).toExternalForm();
+        }
+        if (value instanceof Optional) {
+            return ((Optional<?>) value).map(Equality::normalized);
+        }
+        if (value instanceof List) {
+            List<Object> result = new ArrayList<>(((List<?>) value).size());
+            ((List<?>) value).forEach(e -> result.add(normalized(e)));
+            return result;
+        }
+        if (value instanceof Set) {
+            Set<Object> result = new HashSet<>();
+            ((Set<?>) value).forEach(e -> result.add(normalized(e)));
+            return result;
+        }
+        if (value instanceof Map) {
+            Map<Object, Object> result = new HashMap<>();
+            ((Map<?, ?>) value).forEach((k, v) -> result.put(normalized(k), normalized(v)));
+            return result;
+        }
+        return value;
+    }
+}
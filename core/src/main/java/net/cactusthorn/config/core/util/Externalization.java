@@ -0,0 +1,175 @@
+/*
+* Copyright (C) 2021, Alexei Khatskevich
+*
+* Licensed under the BSD 3-Clause license.
+* You may obtain a copy of the License at
+*
+* https://github.com/Gmugra/net.cactusthorn.config/blob/main/LICENSE
+*
+* THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+* AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+* IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+* DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+* FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+* DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+* CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+* OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+* OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.cactusthorn.config.core.util;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Optional;
+
+/**
+ * Compact encodings used by the generated serialization proxies of {@code Serializable} configs.
+ */
+public final class Externalization {
+
+    @FunctionalInterface public interface Writer<T> {
+        void write(ObjectOutput out, T value) throws IOException;
+    }
+
+    @FunctionalInterface public interface Reader<T> {
+        T read(ObjectInput in) throws IOException, ClassNotFoundException;
+    }
+
+    private Externalization() {
+    }
+
+    /**
+     * @throws InvalidClassException if the data is written by other version of the config-interface
+     */
+    public static void checkFingerprint(ObjectInput in, long fingerprint, String className) throws IOException {
+        if (in.readLong() != fingerprint) {
+            throw new InvalidClassException(className, "written by incompatible version of the config-interface");
+        }
+    }
+
+    @SuppressWarnings("unchecked") public static <T> T readObject(ObjectInput in) throws IOException, ClassNotFoundException {
+        return (T) in.readObject();
+    }
+
+    public static <T> void writeOptional(ObjectOutput out, Optional<T> value, Writer<T> writer) throws IOException {
+        out.writeBoolean(value.isPresent());
+        if (value.isPresent()) {
+            writer.write(out, value.get());
+        }
+    }
+
+    public static <T> Optional<T> readOptional(ObjectInput in, Reader<T> reader) throws IOException, ClassNotFoundException {
+        if (in.readBoolean()) {
+            return Optional.of(reader.read(in));
+        }
+        return Optional.empty();
+    }
+
+    // DataOutput.writeUTF is limited to 64KB
+    public static void writeString(ObjectOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    public static String readString(ObjectInput in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    public static void writeStringArray(ObjectOutput out, String[] value) throws IOException {
+        out.writeInt(value.length);
+        for (String element : value) {
+            writeString(out, element);
+        }
+    }
+
+    public static String[] readStringArray(ObjectInput in) throws IOException {
+        String[] result = new String[in.readInt()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = readString(in);
+        }
+        return result;
+    }
+
+    public static void writeIntArray(ObjectOutput out, int[] value) throws IOException {
+        out.writeInt(value.length);
+        for (int element : value) {
+            out.writeInt(element);
+        }
+    }
+
+    public static int[] readIntArray(ObjectInput in) throws IOException {
+        int[] result = new int[in.readInt()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = in.readInt();
+        }
+        return result;
+    }
+
+    public static void writeLongArray(ObjectOutput out, long[] value) throws IOException {
+        out.writeInt(value.length);
+        for (long element : value) {
+            out.writeLong(element);
+        }
+    }
+
+    public static long[] readLongArray(ObjectInput in) throws IOException {
+        long[] result = new long[in.readInt()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = in.readLong();
+        }
+        return result;
+    }
+
+    public static void writeDoubleArray(ObjectOutput out, double[] value) throws IOException {
+        out.writeInt(value.length);
+        for (double element : value) {
+            out.writeDouble(element);
+        }
+    }
+
+    public static double[] readDoubleArray(ObjectInput in) throws IOException {
+        double[] result = new double[in.readInt()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = in.readDouble();
+        }
+        return result;
+    }
+
+    public static void writeBooleanArray(ObjectOutput out, boolean[] value) throws IOException {
+        out.writeInt(value.length);
+        for (boolean element : value) {
+            out.writeBoolean(element);
+        }
+    }
+
+    public static boolean[] readBooleanArray(ObjectInput in) throws IOException {
+        boolean[] result = new boolean[in.readInt()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = in.readBoolean();
+        }
+        return result;
+    }
+
+    public static void writeCharArray(ObjectOutput out, char[] value) throws IOException {
+        out.writeInt(value.length);
+        for (char element : value) {
+            out.writeChar(element);
+        }
+    }
+
+    public static char[] readCharArray(ObjectInput in) throws IOException {
+        char[] result = new char[in.readInt()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = in.readChar();
+        }
+        return result;
+    }
+}
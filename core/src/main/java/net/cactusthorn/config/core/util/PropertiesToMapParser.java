@@ -0,0 +1,654 @@
+/*
+* Copyright (C) 2021, Alexei Khatskevich
+*
+* Licensed under the BSD 3-Clause license.
+* You may obtain a copy of the License at
+*
+* https://github.com/Gmugra/net.cactusthorn.config/blob/main/LICENSE
+*
+* THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+* AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+* IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+* DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+* FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+* DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+* CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+* OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+* OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.cactusthorn.config.core.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Parser of the .properties format, same grammar as {@link java.util.Properties#load(Reader)}: comments, escapes,
+ * {@code \\uxxxx} and line continuations. UTF-8 and ISO-8859-1 are decoded directly from the bytes of the stream,
+ * without {@link InputStreamReader}, and the result is unmodifiable unsynchronized map of the exact size.
+ */
+public final class PropertiesToMapParser {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int INITIAL_ENTRIES = 32;
+    private static final int INITIAL_LINE_LENGTH = 256;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int HEX_DIGITS = 4;
+    private static final int HEX_DIGIT_BITS = 4;
+    private static final int HEX_LETTER_VALUE = 10;
+
+    // UTF-8: lead byte ranges of the 2, 3 and 4 bytes sequences, without overlong and out of Unicode range forms
+    private static final int BYTE_MASK = 0xFF;
+    private static final int ASCII_LIMIT = 0x80;
+    private static final int LEAD2_MIN = 0xC2;
+    private static final int LEAD2_MAX = 0xDF;
+    private static final int LEAD3_MIN = 0xE0;
+    private static final int LEAD3_MAX = 0xEF;
+    private static final int LEAD4_MIN = 0xF0;
+    private static final int LEAD4_MAX = 0xF4;
+    private static final int LEAD2_PAYLOAD = 0x1F;
+    private static final int LEAD3_PAYLOAD = 0x0F;
+    private static final int LEAD4_PAYLOAD = 0x07;
+    // continuation bytes: 10xxxxxx, narrower right after E0 (no overlong), F0 (no overlong) and F4 (max U+10FFFF)
+    private static final int CONTINUATION_MIN = 0x80;
+    private static final int CONTINUATION_MAX = 0xBF;
+    private static final int AFTER_E0_MIN = 0xA0;
+    private static final int AFTER_F0_MIN = 0x90;
+    private static final int AFTER_F4_MAX = 0x8F;
+    private static final int CONTINUATION_PAYLOAD = 0x3F;
+    private static final int CONTINUATION_BITS = 6;
+    private static final char REPLACEMENT = '\uFFFD';
+    private static final String MALFORMED = "Malformed \\uxxxx encoding.";
+
+    public Map<String, String> parse(InputStream stream, Charset charset) throws IOException {
+        return parse(stream, charset, null);
+    }
+
+    /**
+     * @param keys only these keys are kept, values of other keys are validated, but not decoded; null means all keys
+     */
+    public Map<String, String> parse(InputStream stream, Charset charset, Set<String> keys) throws IOException {
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            return parse(new ByteSource(stream, true), keys);
+        }
+        if (StandardCharsets.ISO_8859_1.equals(charset)) {
+            return parse(new ByteSource(stream, false), keys);
+        }
+        return parse(new CharSource(new InputStreamReader(stream, charset)), keys);
+    }
+
+    public Map<String, String> parse(Reader reader) throws IOException {
+        return parse(new CharSource(reader), null);
+    }
+
+    /**
+     * Parses the buffer (e.g. memory-mapped file) lazily: only keys are parsed, the value is decoded from the buffer
+     * on the first access to it. Because of that, the content of the buffer must not be changed later.
+     */
+    public Map<String, String> parse(ByteBuffer buffer, Charset charset) throws IOException {
+        return parse(buffer, charset, null);
+    }
+
+    /**
+     * @param keys only these keys are indexed; null means all keys
+     */
+    public Map<String, String> parse(ByteBuffer buffer, Charset charset, Set<String> keys) throws IOException {
+        boolean utf8 = StandardCharsets.UTF_8.equals(charset);
+        if (!utf8 && !StandardCharsets.ISO_8859_1.equals(charset)) {
+            return parse(new CharSource(new StringReader(charset.decode(buffer.duplicate()).toString())), keys);
+        }
+        ByteSource source = new ByteSource(buffer.duplicate(), utf8);
+        LineParser parser = new LineParser(source, true, keys);
+        Map<String, Integer> index = new HashMap<>();
+        int[] lines = new int[INITIAL_ENTRIES * 2];
+        int count = 0;
+        int start = source.position();
+        while (parser.next()) {
+            if (parser.key == null) {
+                start = source.position();
+                continue;
+            }
+            if (count * 2 == lines.length) {
+                lines = Arrays.copyOf(lines, lines.length * 2);
+            }
+            lines[count * 2] = start;
+            start = source.position();
+            lines[count * 2 + 1] = start;
+            index.put(parser.key, count++);
+        }
+        if (index.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return new LazyMap(buffer, utf8, index, lines, count);
+    }
+
+    private static Map<String, String> parse(Source source, Set<String> keys) throws IOException {
+        LineParser parser = new LineParser(source, false, keys);
+        List<String> entries = new ArrayList<>();
+        while (parser.next()) {
+            if (parser.key == null) {
+                continue;
+            }
+            entries.add(parser.key);
+            entries.add(parser.value);
+        }
+        if (entries.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> result = new HashMap<>((int) (entries.size() / 2 / LOAD_FACTOR) + 1);
+        for (int i = 0; i < entries.size(); i += 2) {
+            result.put(entries.get(i), entries.get(i + 1));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static final class LazyMap extends AbstractMap<String, String> {
+        private final ByteBuffer buffer;
+        private final boolean utf8;
+        private final Map<String, Integer> index;
+        // start and end positions of the logical line of every entry
+        private final int[] lines;
+        private final AtomicReferenceArray<String> values;
+        private final Set<Entry<String, String>> entrySet = new EntrySet();
+
+        private LazyMap(ByteBuffer buffer, boolean utf8, Map<String, Integer> index, int[] lines, int count) {
+            this.buffer = buffer;
+            this.utf8 = utf8;
+            this.index = index;
+            this.lines = lines;
+            values = new AtomicReferenceArray<>(count);
+        }
+
+        @Override public String get(Object key) {
+            Integer entry = index.get(key);
+            return entry == null ? null : value(entry);
+        }
+
+        @Override public boolean containsKey(Object key) {
+            return index.containsKey(key);
+        }
+
+        @Override public int size() {
+            return index.size();
+        }
+
+        @Override public Set<Entry<String, String>> entrySet() {
+            return entrySet;
+        }
+
+        private String value(int entry) {
+            String value = values.get(entry);
+            if (value != null) {
+                return value;
+            }
+            ByteBuffer line = buffer.duplicate();
+            line.limit(lines[entry * 2 + 1]);
+            line.position(lines[entry * 2]);
+            LineParser parser = new LineParser(new ByteSource(line, utf8), false, null);
+            try {
+                parser.next();
+            } catch (IOException e) {
+                // buffer based source doesn't do I/O
+                throw new UncheckedIOException(e);
+            }
+            // the same line gives the same value, so concurrent decoding is harmless
+            values.set(entry, parser.value);
+            return parser.value;
+        }
+
+        private final class EntrySet extends AbstractSet<Entry<String, String>> {
+            @Override public Iterator<Entry<String, String>> iterator() {
+                Iterator<Entry<String, Integer>> it = index.entrySet().iterator();
+                return new Iterator<Entry<String, String>>() {
+                    @Override public boolean hasNext() {
+                        return it.hasNext();
+                    }
+
+                    @Override public Entry<String, String> next() {
+                        Entry<String, Integer> entry = it.next();
+                        return new SimpleImmutableEntry<>(entry.getKey(), value(entry.getValue()));
+                    }
+                };
+            }
+
+            @Override public int size() {
+                return index.size();
+            }
+        }
+    }
+
+    private abstract static class Source {
+        /**
+         * @return next character or -1 at the end of the input
+         */
+        abstract int read() throws IOException;
+    }
+
+    private static final class CharSource extends Source {
+        private final Reader reader;
+        private final char[] buffer = new char[BUFFER_SIZE];
+        private int position;
+        private int limit;
+
+        private CharSource(Reader reader) {
+            this.reader = reader;
+        }
+
+        @Override int read() throws IOException {
+            if (position == limit) {
+                limit = reader.read(buffer);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+            }
+            return buffer[position++];
+        }
+    }
+
+    /**
+     * Decodes UTF-8 or ISO-8859-1 straight from the bytes of a stream or of a buffer. Malformed UTF-8 sequences are
+     * replaced with U+FFFD, the same as {@link InputStreamReader} does.
+     */
+    private static final class ByteSource extends Source {
+        private final InputStream stream;
+        private final ByteBuffer buffer;
+        private final boolean utf8;
+        private int lowSurrogate = -1;
+
+        private ByteSource(InputStream stream, boolean utf8) {
+            this.stream = stream;
+            this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            this.buffer.limit(0);
+            this.utf8 = utf8;
+        }
+
+        private ByteSource(ByteBuffer buffer, boolean utf8) {
+            this.stream = null;
+            this.buffer = buffer;
+            this.utf8 = utf8;
+        }
+
+        /**
+         * @return position of the next byte in the buffer, meaningful only for the buffer based source
+         */
+        private int position() {
+            return buffer.position();
+        }
+
+        private boolean fill() throws IOException {
+            if (buffer.hasRemaining()) {
+                return true;
+            }
+            if (stream == null) {
+                return false;
+            }
+            int count;
+            do {
+                count = stream.read(buffer.array());
+            } while (count == 0);
+            buffer.position(0);
+            buffer.limit(Math.max(count, 0));
+            return count > 0;
+        }
+
+        @Override int read() throws IOException {
+            if (lowSurrogate >= 0) {
+                int c = lowSurrogate;
+                lowSurrogate = -1;
+                return c;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int b = buffer.get() & BYTE_MASK;
+            if (!utf8 || b < ASCII_LIMIT) {
+                return b;
+            }
+            if (b >= LEAD2_MIN && b <= LEAD2_MAX) {
+                int b1 = continuation(CONTINUATION_MIN, CONTINUATION_MAX);
+                return b1 < 0 ? REPLACEMENT : append(b & LEAD2_PAYLOAD, b1);
+            }
+            if (b >= LEAD3_MIN && b <= LEAD3_MAX) {
+                int b1 = continuation(b == LEAD3_MIN ? AFTER_E0_MIN : CONTINUATION_MIN, CONTINUATION_MAX);
+                if (b1 < 0) {
+                    return REPLACEMENT;
+                }
+                int b2 = continuation(CONTINUATION_MIN, CONTINUATION_MAX);
+                if (b2 < 0) {
+                    return REPLACEMENT;
+                }
+                char c = (char) append(append(b & LEAD3_PAYLOAD, b1), b2);
+                return Character.isSurrogate(c) ? REPLACEMENT : c;
+            }
+            if (b >= LEAD4_MIN && b <= LEAD4_MAX) {
+                int b1 = continuation(b == LEAD4_MIN ? AFTER_F0_MIN : CONTINUATION_MIN, b == LEAD4_MAX ? AFTER_F4_MAX : CONTINUATION_MAX);
+                if (b1 < 0) {
+                    return REPLACEMENT;
+                }
+                int b2 = continuation(CONTINUATION_MIN, CONTINUATION_MAX);
+                if (b2 < 0) {
+                    return REPLACEMENT;
+                }
+                int b3 = continuation(CONTINUATION_MIN, CONTINUATION_MAX);
+                if (b3 < 0) {
+                    return REPLACEMENT;
+                }
+                int codePoint = append(append(append(b & LEAD4_PAYLOAD, b1), b2), b3);
+                lowSurrogate = Character.lowSurrogate(codePoint);
+                return Character.highSurrogate(codePoint);
+            }
+            return REPLACEMENT;
+        }
+
+        /**
+         * @return six payload bits of the next byte, or -1 (and the byte is not consumed) if it is not expected
+         *         continuation byte
+         */
+        private int continuation(int min, int max) throws IOException {
+            if (!fill()) {
+                return -1;
+            }
+            int b = buffer.get(buffer.position()) & BYTE_MASK;
+            if (b < min || b > max) {
+                return -1;
+            }
+            buffer.get();
+            return b & CONTINUATION_PAYLOAD;
+        }
+
+        private static int append(int bits, int payload) {
+            return bits << CONTINUATION_BITS | payload;
+        }
+    }
+
+    private static final class LineParser {
+        private final Source source;
+        private final boolean keysOnly;
+        private final Set<String> keys;
+        private char[] line = new char[INITIAL_LINE_LENGTH];
+        private char[] converted = new char[INITIAL_LINE_LENGTH];
+        private int keyLength;
+        // validation of \\uxxxx escapes in the values, which are not decoded in keys-only mode
+        private int hexRemaining;
+        private boolean hexBackslash;
+        private String key;
+        private String value;
+
+        private LineParser(Source source, boolean keysOnly, Set<String> keys) {
+            this.source = source;
+            this.keysOnly = keysOnly;
+            this.keys = keys;
+        }
+
+        /**
+         * Parses next entry. In keys-only mode only {@code key} is set: characters of the line after the key are
+         * scanned, but neither stored nor decoded. {@code key} is null if the entry is not one of the expected keys.
+         */
+        private boolean next() throws IOException {
+            int length = readLine();
+            if (length < 0) {
+                return false;
+            }
+            if (keysOnly) {
+                key = select(convert(0, keyLength < 0 ? length : keyLength));
+                return true;
+            }
+            int keyEnd = 0;
+            int valueStart = length;
+            boolean hasSeparator = false;
+            boolean precedingBackslash = false;
+            while (keyEnd < length) {
+                char c = line[keyEnd];
+                if ((c == '=' || c == ':') && !precedingBackslash) {
+                    valueStart = keyEnd + 1;
+                    hasSeparator = true;
+                    break;
+                }
+                if ((c == ' ' || c == '\t' || c == '\f') && !precedingBackslash) {
+                    valueStart = keyEnd + 1;
+                    break;
+                }
+                precedingBackslash = c == '\\' && !precedingBackslash;
+                keyEnd++;
+            }
+            while (valueStart < length) {
+                char c = line[valueStart];
+                if (c != ' ' && c != '\t' && c != '\f') {
+                    if (hasSeparator || c != '=' && c != ':') {
+                        break;
+                    }
+                    hasSeparator = true;
+                }
+                valueStart++;
+            }
+            key = select(convert(0, keyEnd));
+            if (key == null) {
+                validate(valueStart, length - valueStart);
+                value = null;
+            } else {
+                value = convert(valueStart, length - valueStart);
+            }
+            return true;
+        }
+
+        private String select(String parsedKey) {
+            return keys == null || keys.contains(parsedKey) ? parsedKey : null;
+        }
+
+        /**
+         * Reads next logical line (continuations joined, leading whitespace, comments and blank lines skipped)
+         * into the {@code line} buffer. Escapes are not processed yet.
+         *
+         * @return length of the line, or -1 at the end of the input
+         */
+        private int readLine() throws IOException {
+            int length = 0;
+            keyLength = -1;
+            hexRemaining = 0;
+            hexBackslash = false;
+            boolean skipWhiteSpace = true;
+            boolean appendedLineBegin = false;
+            boolean precedingBackslash = false;
+            boolean skipLF = false;
+            // java.util.Properties returns the line, even empty one, if the input ends right after a continuation
+            boolean continuationAtEnd = false;
+            while (true) {
+                int c = source.read();
+                if (c < 0) {
+                    if (length == 0 && !continuationAtEnd) {
+                        return -1;
+                    }
+                    checkEscapeCompleted();
+                    return precedingBackslash ? length - 1 : length;
+                }
+                continuationAtEnd = false;
+                if (skipLF) {
+                    skipLF = false;
+                    if (c == '\n') {
+                        continue;
+                    }
+                }
+                if (skipWhiteSpace) {
+                    if (c == ' ' || c == '\t' || c == '\f') {
+                        continue;
+                    }
+                    if (!appendedLineBegin && (c == '\r' || c == '\n')) {
+                        continue;
+                    }
+                    skipWhiteSpace = false;
+                    appendedLineBegin = false;
+                }
+                if (length == 0 && (c == '#' || c == '!')) {
+                    do {
+                        c = source.read();
+                    } while (c >= 0 && c != '\n' && c != '\r');
+                    if (c < 0) {
+                        return -1;
+                    }
+                    skipWhiteSpace = true;
+                    continue;
+                }
+                if (c != '\n' && c != '\r') {
+                    if (keyLength < 0) {
+                        if (keysOnly && !precedingBackslash && (c == '=' || c == ':' || c == ' ' || c == '\t' || c == '\f')) {
+                            keyLength = length;
+                        } else {
+                            if (length == line.length) {
+                                line = Arrays.copyOf(line, length * 2);
+                            }
+                            line[length] = (char) c;
+                        }
+                    } else {
+                        checkEscape((char) c, precedingBackslash);
+                    }
+                    length++;
+                    precedingBackslash = c == '\\' && !precedingBackslash;
+                    continue;
+                }
+                if (length == 0) {
+                    skipWhiteSpace = true;
+                    continue;
+                }
+                if (!precedingBackslash) {
+                    checkEscapeCompleted();
+                    return length;
+                }
+                hexBackslash = false;
+                length--;
+                skipWhiteSpace = true;
+                appendedLineBegin = true;
+                precedingBackslash = false;
+                skipLF = c == '\r';
+                continuationAtEnd = true;
+            }
+        }
+
+        /**
+         * Same check as {@link #convert} does, applied character by character. Backslash inside of {@code \\uxxxx}
+         * is allowed only as the line continuation.
+         */
+        private void checkEscape(char c, boolean escaped) {
+            if (hexBackslash) {
+                throw new IllegalArgumentException(MALFORMED);
+            }
+            if (hexRemaining > 0) {
+                if (c == '\\') {
+                    hexBackslash = true;
+                } else if (hex(c) < 0) {
+                    throw new IllegalArgumentException(MALFORMED);
+                } else {
+                    hexRemaining--;
+                }
+            } else if (escaped && c == 'u') {
+                hexRemaining = HEX_DIGITS;
+            }
+        }
+
+        private void checkEscapeCompleted() {
+            if (hexRemaining > 0) {
+                throw new IllegalArgumentException(MALFORMED);
+            }
+        }
+
+        /**
+         * Same check as {@link #convert} does, without decoding: the file is malformed, even if the value is not
+         * needed.
+         */
+        private void validate(int offset, int length) {
+            int end = offset + length;
+            int i = offset;
+            while (i < end) {
+                if (line[i++] == '\\' && line[i++] == 'u') {
+                    if (i + HEX_DIGITS > end) {
+                        throw new IllegalArgumentException(MALFORMED);
+                    }
+                    for (int j = 0; j < HEX_DIGITS; j++) {
+                        if (hex(line[i++]) < 0) {
+                            throw new IllegalArgumentException(MALFORMED);
+                        }
+                    }
+                }
+            }
+        }
+
+        private String convert(int offset, int length) {
+            int end = offset + length;
+            int escape = offset;
+            while (escape < end && line[escape] != '\\') {
+                escape++;
+            }
+            if (escape == end) {
+                return new String(line, offset, length);
+            }
+            if (converted.length < length) {
+                converted = new char[Math.max(length, converted.length * 2)];
+            }
+            int size = escape - offset;
+            System.arraycopy(line, offset, converted, 0, size);
+            int i = escape;
+            while (i < end) {
+                char c = line[i++];
+                if (c == '\\') {
+                    c = line[i++];
+                    if (c == 'u') {
+                        if (i + HEX_DIGITS > end) {
+                            throw new IllegalArgumentException(MALFORMED);
+                        }
+                        int code = 0;
+                        for (int j = 0; j < HEX_DIGITS; j++) {
+                            int digit = hex(line[i++]);
+                            if (digit < 0) {
+                                throw new IllegalArgumentException(MALFORMED);
+                            }
+                            code = code << HEX_DIGIT_BITS | digit;
+                        }
+                        c = (char) code;
+                    } else if (c == 't') {
+                        c = '\t';
+                    } else if (c == 'r') {
+                        c = '\r';
+                    } else if (c == 'n') {
+                        c = '\n';
+                    } else if (c == 'f') {
+                        c = '\f';
+                    }
+                }
+                converted[size++] = c;
+            }
+            return new String(converted, 0, size);
+        }
+
+        private static int hex(char c) {
+            if (c >= '0' && c <= '9') {
+                return c - '0';
+            }
+            if (c >= 'a' && c <= 'f') {
+                return c - 'a' + HEX_LETTER_VALUE;
+            }
+            if (c >= 'A' && c <= 'F') {
+                return c - 'A' + HEX_LETTER_VALUE;
+            }
+            return -1;
+        }
+    }
+}
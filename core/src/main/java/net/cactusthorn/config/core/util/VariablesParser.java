@@ -22,11 +22,17 @@ package net.cactusthorn.config.core.util;
 import static net.cactusthorn.config.core.util.ApiMessages.*;
 import static net.cactusthorn.config.core.util.ApiMessages.Key.WRONG_SOURCE_PARAM;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 public final class VariablesParser {
 
     private final String source;
+    // literals.length == variables.length + 1
+    private final String[] literals;
+    private final String[] variables;
 
     public VariablesParser(String source) {
         if (source == null) {
@@ -37,36 +43,64 @@ public final class VariablesParser {
             throw new IllegalArgumentException(isEmpty("source"));
         }
         this.source = prepared;
-    }
-
-    public String replace(final Map<String, String> values) {
-        if (values == null) {
-            throw new IllegalArgumentException(isNull("values"));
-        }
-
-        StringBuilder result = new StringBuilder();
 
+        List<String> literalsList = new ArrayList<>();
+        List<String> variablesList = new ArrayList<>();
         int pos = 0;
-        int start = source.indexOf('{');
+        int start = prepared.indexOf('{');
         while (start >= 0) {
-            result.append(source.substring(pos, start));
-            pos = source.indexOf('}', start + 1);
+            literalsList.add(literal(pos, start));
+            pos = prepared.indexOf('}', start + 1);
             if (pos == -1) {
-                throw new IllegalArgumentException(msg(WRONG_SOURCE_PARAM, start, source));
+                throw new IllegalArgumentException(msg(WRONG_SOURCE_PARAM, start, prepared));
             }
-            String variable = source.substring(start + 1, pos);
+            String variable = prepared.substring(start + 1, pos);
             if (variable.indexOf('{') != -1) {
-                throw new IllegalArgumentException(msg(WRONG_SOURCE_PARAM, start + 1 + variable.indexOf('{'), source));
+                throw new IllegalArgumentException(msg(WRONG_SOURCE_PARAM, start + 1 + variable.indexOf('{'), prepared));
             }
-            String value = values.getOrDefault(variable, "");
-            result.append(value);
+            variablesList.add(variable);
             pos++;
-            start = source.indexOf('{', pos);
+            start = prepared.indexOf('{', pos);
+        }
+        literalsList.add(literal(pos, prepared.length()));
+        literals = literalsList.toArray(new String[literalsList.size()]);
+        variables = variablesList.toArray(new String[variablesList.size()]);
+    }
+
+    private String literal(int from, int to) {
+        int wrong = source.indexOf('}', from);
+        if (wrong != -1 && wrong < to) {
+            throw new IllegalArgumentException(msg(WRONG_SOURCE_PARAM, source, wrong));
+        }
+        return source.substring(from, to);
+    }
+
+    public boolean hasVariables() {
+        return variables.length != 0;
+    }
+
+    public String replace(final Map<String, String> values) {
+        if (values == null) {
+            throw new IllegalArgumentException(isNull("values"));
         }
-        result.append(source.substring(pos));
-        if (result.indexOf("}") != -1) {
-            throw new IllegalArgumentException(msg(WRONG_SOURCE_PARAM, source, source.indexOf("}", pos)));
+        return resolve(values::get);
+    }
+
+    /**
+     * @param lookup returns value of the variable or null, if the variable is unknown (replaced with empty string).
+     */
+    public String resolve(Function<String, String> lookup) {
+        if (variables.length == 0) {
+            return source;
+        }
+        StringBuilder result = new StringBuilder(source.length());
+        for (int i = 0; i < variables.length; i++) {
+            result.append(literals[i]);
+            String value = lookup.apply(variables[i]);
+            if (value != null) {
+                result.append(value);
+            }
         }
-        return result.toString();
+        return result.append(literals[variables.length]).toString();
     }
 }
@@ -20,6 +20,8 @@
 package net.cactusthorn.config.core;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import java.net.URI;
 
@@ -41,6 +43,39 @@ public class ConfigFactoryCachingTest {
         assertEquals("firstValue", holder.getString("myKey"));
     }
 
+    @Test public void sharedHolder() {
+        ConfigFactory factory = ConfigFactory.builder().addSource("system:properties", "system:env").build();
+        assertSame(factory.configHolder(), factory.configHolder());
+    }
+
+    @Test public void notSharedHolder() {
+        ConfigFactory factory = ConfigFactory.builder().addSource("system:properties").addSourceNoCache("system:env").build();
+        assertFalse(factory.configHolder() == factory.configHolder());
+    }
+
+    @Test public void invalidateAll() {
+        ConfigFactory factory = ConfigFactory.builder().addSource("system:properties").build();
+
+        System.setProperty("myKey", "firstValue");
+        assertEquals("firstValue", factory.configHolder().getString("myKey"));
+
+        System.setProperty("myKey", "secondValue");
+        factory.invalidateAll();
+        assertEquals("secondValue", factory.configHolder().getString("myKey"));
+    }
+
+    @Test public void invalidate() {
+        ConfigFactory factory = ConfigFactory.builder().addSource("system:properties").build();
+
+        System.setProperty("myKey", "firstValue");
+        assertEquals("firstValue", factory.configHolder().getString("myKey"));
+
+        System.setProperty("myKey", "secondValue");
+        factory.invalidate(URI.create("system:properties"));
+        assertEquals("secondValue", factory.configHolder().getString("myKey"));
+        assertEquals(2, factory.cacheStats().missCount());
+    }
+
     @Test public void notCached() {
         ConfigFactory factory = ConfigFactory.builder().addSourceNoCache(URI.create("system:properties")).build();
 
@@ -52,4 +87,24 @@ public class ConfigFactoryCachingTest {
         holder = factory.configHolder();
         assertEquals("secondValue", holder.getString("myKey"));
     }
+
+    @Test public void snapshotUris() {
+        System.setProperty("sourceKind", "properties");
+        System.setProperty("myKey", "firstValue");
+        ConfigFactory factory = ConfigFactory.builder().setSnapshotUris().addSourceNoCache("system:{sourceKind}").build();
+        assertEquals("firstValue", factory.configHolder().getString("myKey"));
+
+        System.setProperty("sourceKind", "env");
+        assertEquals("firstValue", factory.configHolder().getString("myKey"));
+    }
+
+    @Test public void notSnapshotUris() {
+        System.setProperty("sourceKind", "properties");
+        System.setProperty("myKey", "firstValue");
+        ConfigFactory factory = ConfigFactory.builder().addSourceNoCache("system:{sourceKind}").build();
+        assertEquals("firstValue", factory.configHolder().getString("myKey"));
+
+        System.setProperty("sourceKind", "env");
+        assertFalse(factory.configHolder().getOptionalString("myKey").isPresent());
+    }
 }
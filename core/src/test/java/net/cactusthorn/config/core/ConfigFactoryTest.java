@@ -27,8 +27,13 @@ import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.LogManager;
@@ -39,6 +44,7 @@ import org.junit.jupiter.api.Test;
 
 import net.cactusthorn.config.core.loader.ConfigHolder;
 import net.cactusthorn.config.core.loader.LoadStrategy;
+import net.cactusthorn.config.core.loader.Loader;
 
 public class ConfigFactoryTest {
 
@@ -200,4 +206,74 @@ public class ConfigFactoryTest {
         ConfigFactory factory = ConfigFactory.builder().build();
         assertThrows(IllegalArgumentException.class, () -> factory.create(String.class));
     }
+
+    @Test public void createFailedWrappedOnce() {
+        ConfigFactory factory = ConfigFactory.builder().build();
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> factory.create(TestConfig.class));
+        // the cause is the exception of the config constructor itself
+        assertNotEquals(e.getMessage(), e.getCause().getMessage());
+        assertNull(e.getCause().getCause());
+    }
+
+    @Test public void createAsync() {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("test.string", "TEST");
+        properties.put("test.list", "A,B,C");
+        properties.put("test.set", "A,B,C,C");
+        properties.put("test.sort", "A,B,C,C");
+        TestConfig testConfig = ConfigFactory.builder().setSource(properties).build().createAsync(TestConfig.class).join();
+        assertEquals("TEST", testConfig.str());
+    }
+
+    @Test public void createAsyncFailed() {
+        ConfigFactory factory = ConfigFactory.builder().build();
+        CompletionException e = assertThrows(CompletionException.class, () -> factory.createAsync(TestConfig.class).join());
+        assertEquals(IllegalArgumentException.class, e.getCause().getClass());
+    }
+
+    @Test public void createAsyncNullExecutor() {
+        assertThrows(IllegalArgumentException.class, () -> ConfigFactory.builder().build().createAsync(TestConfig.class, null));
+    }
+
+    @Test public void configHolderAsync() {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("test.string", "TEST");
+        Executor direct = Runnable::run;
+        ConfigHolder holder = ConfigFactory.builder().setSource(properties).build().configHolderAsync(direct).join();
+        assertEquals("TEST", holder.getString("test.string"));
+    }
+
+    public static class ThreadNameLoader implements Loader {
+        private static volatile String threadName;
+
+        @Override public boolean accept(URI uri) {
+            return "thread".equals(uri.getScheme());
+        }
+
+        @Override public Map<String, String> load(URI uri, ClassLoader classLoader) {
+            threadName = Thread.currentThread().getName();
+            return Collections.emptyMap();
+        }
+    }
+
+    @Test public void asyncDefaultExecutor() {
+        ConfigFactory factory = ConfigFactory.builder().addLoader(ThreadNameLoader.class).addSource("nocache:thread:name").build();
+        factory.configHolderAsync().join();
+        assertEquals("config-async", ThreadNameLoader.threadName);
+        ThreadNameLoader.threadName = null;
+        // creation fails (required values are absent), but the sources are loaded
+        factory.createAsync(TestConfig.class).handle((config, e) -> config).join();
+        assertEquals("config-async", ThreadNameLoader.threadName);
+    }
+
+    @Test public void configHolderAsyncWithParallelLoading() throws Exception {
+        ConfigFactory factory = ConfigFactory.builder().setParallelLoading().addSource("nocache:system:properties", "nocache:system:env")
+                .build();
+        // more tasks than threads of the loading executor: the tasks must not wait for the loading in the same pool
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[32];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = factory.configHolderAsync();
+        }
+        CompletableFuture.allOf(futures).get(30, TimeUnit.SECONDS);
+    }
 }
@@ -3,8 +3,12 @@ package net.cactusthorn.config.core;
 import java.lang.Object;
 import java.lang.Override;
 import java.lang.String;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import net.cactusthorn.config.core.converter.Converter;
 import net.cactusthorn.config.core.converter.standard.DurationConverter;
 import net.cactusthorn.config.core.loader.ConfigHolder;
@@ -15,26 +19,36 @@ import net.cactusthorn.config.core.util.ConfigInitializer;
 public final class ConfigInitializer_TestConfig extends ConfigInitializer {
   private static final String[] URIS = new String[] {""};
 
+  private static final Set<String> KEYS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList("aaa", "test.dlist", "test.dlist2", "test.dset", "test.dset2", "test.dsort", "test.dsort2", "test.dstr", "test.dstr2", "test.duration", "test.list", "test.olist", "test.olist2", "test.oset", "test.oset2", "test.osort", "test.osort2", "ostr", "test.ostr1", "test.set", "test.sort", "test.string", "test.testconverter")));
+
+  private static final DurationConverter CONVERTER_DURATION = new DurationConverter();
+
+  private static final ToTestConverter CONVERTER_TO_TEST = new ToTestConverter();
+
+  private static final String DEFAULT_AAA = "ddd";
+
+  private static final String DEFAULT_DSTR = "A";
+
+  private static final String DEFAULT_DSTR2 = "B";
+
   ConfigInitializer_TestConfig(final Loaders loaders) {
     super(loaders);
   }
 
   @Override
   public Map<String, Object> initialize() {
-    ConfigHolder ch = loaders().load(Config_TestConfig.class.getClassLoader(), LoadStrategy.UNKNOWN, URIS);
-    CONVERTERS.computeIfAbsent(DurationConverter.class, c -> new DurationConverter());
-    CONVERTERS.computeIfAbsent(ToTestConverter.class, c -> new ToTestConverter());
+    ConfigHolder ch = loaders().load(Config_TestConfig.class.getClassLoader(), LoadStrategy.UNKNOWN, URIS, KEYS);
     Map<String,Object> values = new HashMap<>();
-    values.put("aaa", ch.get(s -> s, "aaa", "ddd"));
+    values.put("aaa", ch.getOrDefault(s -> s, "aaa", DEFAULT_AAA));
     values.put("test.dlist", ch.getList(s -> s, "test.dlist", ",", "A,A"));
     values.put("test.dlist2", ch.getList(s -> s, "test.dlist2", ",", "B,B"));
     values.put("test.dset", ch.getSet(s -> s, "test.dset", ",", "A,A"));
     values.put("test.dset2", ch.getSet(s -> s, "test.dset2", ",", "B,B"));
     values.put("test.dsort", ch.getSortedSet(s -> s, "test.dsort", ",", "A,A"));
     values.put("test.dsort2", ch.getSortedSet(s -> s, "test.dsort2", ",", "B,B"));
-    values.put("test.dstr", ch.get(s -> s, "test.dstr", "A"));
-    values.put("test.dstr2", ch.get(s -> s, "test.dstr2", "B"));
-    values.put("test.duration", ch.getOptional(s -> convert(DurationConverter.class, s, Converter.EMPTY), "test.duration"));
+    values.put("test.dstr", ch.getOrDefault(s -> s, "test.dstr", DEFAULT_DSTR));
+    values.put("test.dstr2", ch.getOrDefault(s -> s, "test.dstr2", DEFAULT_DSTR2));
+    values.put("test.duration", ch.getOptional(s -> CONVERTER_DURATION.convert(s, Converter.EMPTY), "test.duration"));
     values.put("test.list", ch.getList(s -> s, "test.list", ","));
     values.put("test.olist", ch.getOptionalList(s -> s, "test.olist", ","));
     values.put("test.olist2", ch.getOptionalList(s -> s, "test.olist2", ","));
@@ -47,7 +61,7 @@ public final class ConfigInitializer_TestConfig extends ConfigInitializer {
     values.put("test.set", ch.getSet(s -> s, "test.set", ","));
     values.put("test.sort", ch.getSortedSet(s -> s, "test.sort", ","));
     values.put("test.string", ch.get(s -> s, "test.string"));
-    values.put("test.testconverter", ch.get(s -> convert(ToTestConverter.class, s, Converter.EMPTY), "test.testconverter", "default"));
+    values.put("test.testconverter", ch.get(s -> CONVERTER_TO_TEST.convert(s, Converter.EMPTY), "test.testconverter", "default"));
     return values;
   }
 }
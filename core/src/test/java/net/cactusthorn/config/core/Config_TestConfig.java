@@ -7,210 +7,298 @@ import java.lang.StringBuilder;
 import java.lang.SuppressWarnings;
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedSet;
-import java.util.concurrent.ConcurrentHashMap;
 import net.cactusthorn.config.core.loader.Loaders;
 
 public final class Config_TestConfig implements TestConfig {
-  private final ConcurrentHashMap<String, Object> VALUES = new ConcurrentHashMap<>();
+  private final String aaa;
 
+  private final List<String> dlist;
+
+  private final List<String> dlist2;
+
+  private final Set<String> dset;
+
+  private final Set<String> dset2;
+
+  private final SortedSet<String> dsort;
+
+  private final SortedSet<String> dsort2;
+
+  private final String dstr;
+
+  private final String dstr2;
+
+  private final Optional<Duration> duration;
+
+  private final List<String> list;
+
+  private final Optional<List<String>> olist;
+
+  private final Optional<List<String>> olist2;
+
+  private final Optional<Set<String>> oset;
+
+  private final Optional<Set<String>> oset2;
+
+  private final Optional<SortedSet<String>> osort;
+
+  private final Optional<SortedSet<String>> osort2;
+
+  private final Optional<String> ostr;
+
+  private final Optional<String> ostr1;
+
+  private final Set<String> set;
+
+  private final SortedSet<String> sort;
+
+  private final String str;
+
+  private final String testconverter;
+
+  private transient int $hashCode;
+
+  private transient String $toString;
+
+  @SuppressWarnings("unchecked")
   public Config_TestConfig(final Loaders loaders) {
     ConfigInitializer_TestConfig initializer = new ConfigInitializer_TestConfig(loaders);
-    VALUES.putAll(initializer.initialize());
+    Map<String, Object> values = initializer.initialize();
+    this.aaa = (String) values.get("aaa");
+    this.dlist = (List<String>) values.get("test.dlist");
+    this.dlist2 = (List<String>) values.get("test.dlist2");
+    this.dset = (Set<String>) values.get("test.dset");
+    this.dset2 = (Set<String>) values.get("test.dset2");
+    this.dsort = (SortedSet<String>) values.get("test.dsort");
+    this.dsort2 = (SortedSet<String>) values.get("test.dsort2");
+    this.dstr = (String) values.get("test.dstr");
+    this.dstr2 = (String) values.get("test.dstr2");
+    this.duration = (Optional<Duration>) values.get("test.duration");
+    this.list = (List<String>) values.get("test.list");
+    this.olist = (Optional<List<String>>) values.get("test.olist");
+    this.olist2 = (Optional<List<String>>) values.get("test.olist2");
+    this.oset = (Optional<Set<String>>) values.get("test.oset");
+    this.oset2 = (Optional<Set<String>>) values.get("test.oset2");
+    this.osort = (Optional<SortedSet<String>>) values.get("test.osort");
+    this.osort2 = (Optional<SortedSet<String>>) values.get("test.osort2");
+    this.ostr = (Optional<String>) values.get("ostr");
+    this.ostr1 = (Optional<String>) values.get("test.ostr1");
+    this.set = (Set<String>) values.get("test.set");
+    this.sort = (SortedSet<String>) values.get("test.sort");
+    this.str = (String) values.get("test.string");
+    this.testconverter = (String) values.get("test.testconverter");
+    hashCode();
   }
 
   @Override
   public String aaa() {
-    return (String)VALUES.get("aaa");
+    return this.aaa;
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public List<String> dlist() {
-    return (List<String>)VALUES.get("test.dlist");
+    return this.dlist;
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public List<String> dlist2() {
-    return (List<String>)VALUES.get("test.dlist2");
+    return this.dlist2;
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Set<String> dset() {
-    return (Set<String>)VALUES.get("test.dset");
+    return this.dset;
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Set<String> dset2() {
-    return (Set<String>)VALUES.get("test.dset2");
+    return this.dset2;
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public SortedSet<String> dsort() {
-    return (SortedSet<String>)VALUES.get("test.dsort");
+    return this.dsort;
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public SortedSet<String> dsort2() {
-    return (SortedSet<String>)VALUES.get("test.dsort2");
+    return this.dsort2;
   }
 
   @Override
   public String dstr() {
-    return (String)VALUES.get("test.dstr");
+    return this.dstr;
   }
 
   @Override
   public String dstr2() {
-    return (String)VALUES.get("test.dstr2");
+    return this.dstr2;
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Optional<Duration> duration() {
-    return (Optional<Duration>)VALUES.get("test.duration");
+    return this.duration;
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public List<String> list() {
-    return (List<String>)VALUES.get("test.list");
+    return this.list;
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Optional<List<String>> olist() {
-    return (Optional<List<String>>)VALUES.get("test.olist");
+    return this.olist;
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Optional<List<String>> olist2() {
-    return (Optional<List<String>>)VALUES.get("test.olist2");
+    return this.olist2;
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Optional<Set<String>> oset() {
-    return (Optional<Set<String>>)VALUES.get("test.oset");
+    return this.oset;
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Optional<Set<String>> oset2() {
-    return (Optional<Set<String>>)VALUES.get("test.oset2");
+    return this.oset2;
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Optional<SortedSet<String>> osort() {
-    return (Optional<SortedSet<String>>)VALUES.get("test.osort");
+    return this.osort;
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Optional<SortedSet<String>> osort2() {
-    return (Optional<SortedSet<String>>)VALUES.get("test.osort2");
+    return this.osort2;
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Optional<String> ostr() {
-    return (Optional<String>)VALUES.get("ostr");
+    return this.ostr;
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Optional<String> ostr1() {
-    return (Optional<String>)VALUES.get("test.ostr1");
+    return this.ostr1;
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Set<String> set() {
-    return (Set<String>)VALUES.get("test.set");
+    return this.set;
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public SortedSet<String> sort() {
-    return (SortedSet<String>)VALUES.get("test.sort");
+    return this.sort;
   }
 
   @Override
   public String str() {
-    return (String)VALUES.get("test.string");
+    return this.str;
   }
 
   @Override
   public String testconverter() {
-    return (String)VALUES.get("test.testconverter");
+    return this.testconverter;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(aaa(), dlist(), dlist2(), dset(), dset2(), dsort(), dsort2(), dstr(), dstr2(), duration(), list(), olist(), olist2(), oset(), oset2(), osort(), osort2(), ostr(), ostr1(), set(), sort(), str(), testconverter());
+    int result = $hashCode;
+    if (result == 0) {
+      result = 1;
+      result = 31 * result + Objects.hashCode(this.aaa);
+      result = 31 * result + Objects.hashCode(this.dlist);
+      result = 31 * result + Objects.hashCode(this.dlist2);
+      result = 31 * result + Objects.hashCode(this.dset);
+      result = 31 * result + Objects.hashCode(this.dset2);
+      result = 31 * result + Objects.hashCode(this.dsort);
+      result = 31 * result + Objects.hashCode(this.dsort2);
+      result = 31 * result + Objects.hashCode(this.dstr);
+      result = 31 * result + Objects.hashCode(this.dstr2);
+      result = 31 * result + Objects.hashCode(this.duration);
+      result = 31 * result + Objects.hashCode(this.list);
+      result = 31 * result + Objects.hashCode(this.olist);
+      result = 31 * result + Objects.hashCode(this.olist2);
+      result = 31 * result + Objects.hashCode(this.oset);
+      result = 31 * result + Objects.hashCode(this.oset2);
+      result = 31 * result + Objects.hashCode(this.osort);
+      result = 31 * result + Objects.hashCode(this.osort2);
+      result = 31 * result + Objects.hashCode(this.ostr);
+      result = 31 * result + Objects.hashCode(this.ostr1);
+      result = 31 * result + Objects.hashCode(this.set);
+      result = 31 * result + Objects.hashCode(this.sort);
+      result = 31 * result + Objects.hashCode(this.str);
+      result = 31 * result + Objects.hashCode(this.testconverter);
+      $hashCode = result;
+    }
+    return result;
   }
 
   @Override
   public String toString() {
-    StringBuilder buf = new StringBuilder();
-    buf.append('[');
-    buf.append("aaa").append('=').append(String.valueOf(VALUES.get("aaa")));
-    buf.append(", ");
-    buf.append("dlist").append('=').append(String.valueOf(VALUES.get("test.dlist")));
-    buf.append(", ");
-    buf.append("dlist2").append('=').append(String.valueOf(VALUES.get("test.dlist2")));
-    buf.append(", ");
-    buf.append("dset").append('=').append(String.valueOf(VALUES.get("test.dset")));
-    buf.append(", ");
-    buf.append("dset2").append('=').append(String.valueOf(VALUES.get("test.dset2")));
-    buf.append(", ");
-    buf.append("dsort").append('=').append(String.valueOf(VALUES.get("test.dsort")));
-    buf.append(", ");
-    buf.append("dsort2").append('=').append(String.valueOf(VALUES.get("test.dsort2")));
-    buf.append(", ");
-    buf.append("dstr").append('=').append(String.valueOf(VALUES.get("test.dstr")));
-    buf.append(", ");
-    buf.append("dstr2").append('=').append(String.valueOf(VALUES.get("test.dstr2")));
-    buf.append(", ");
-    buf.append("duration").append('=').append(String.valueOf(VALUES.get("test.duration")));
-    buf.append(", ");
-    buf.append("list").append('=').append(String.valueOf(VALUES.get("test.list")));
-    buf.append(", ");
-    buf.append("olist").append('=').append(String.valueOf(VALUES.get("test.olist")));
-    buf.append(", ");
-    buf.append("olist2").append('=').append(String.valueOf(VALUES.get("test.olist2")));
-    buf.append(", ");
-    buf.append("oset").append('=').append(String.valueOf(VALUES.get("test.oset")));
-    buf.append(", ");
-    buf.append("oset2").append('=').append(String.valueOf(VALUES.get("test.oset2")));
-    buf.append(", ");
-    buf.append("osort").append('=').append(String.valueOf(VALUES.get("test.osort")));
-    buf.append(", ");
-    buf.append("osort2").append('=').append(String.valueOf(VALUES.get("test.osort2")));
-    buf.append(", ");
-    buf.append("ostr").append('=').append(String.valueOf(VALUES.get("ostr")));
-    buf.append(", ");
-    buf.append("ostr1").append('=').append(String.valueOf(VALUES.get("test.ostr1")));
-    buf.append(", ");
-    buf.append("set").append('=').append(String.valueOf(VALUES.get("test.set")));
-    buf.append(", ");
-    buf.append("sort").append('=').append(String.valueOf(VALUES.get("test.sort")));
-    buf.append(", ");
-    buf.append("str").append('=').append(String.valueOf(VALUES.get("test.string")));
-    buf.append(", ");
-    buf.append("testconverter").append('=').append(String.valueOf(VALUES.get("test.testconverter")));
-    buf.append(']');
-    return buf.toString();
+    String result = $toString;
+    if (result == null) {
+      StringBuilder buf = new StringBuilder();
+      buf.append('[');
+      buf.append("aaa").append('=').append(String.valueOf(this.aaa));
+      buf.append(", ");
+      buf.append("dlist").append('=').append(String.valueOf(this.dlist));
+      buf.append(", ");
+      buf.append("dlist2").append('=').append(String.valueOf(this.dlist2));
+      buf.append(", ");
+      buf.append("dset").append('=').append(String.valueOf(this.dset));
+      buf.append(", ");
+      buf.append("dset2").append('=').append(String.valueOf(this.dset2));
+      buf.append(", ");
+      buf.append("dsort").append('=').append(String.valueOf(this.dsort));
+      buf.append(", ");
+      buf.append("dsort2").append('=').append(String.valueOf(this.dsort2));
+      buf.append(", ");
+      buf.append("dstr").append('=').append(String.valueOf(this.dstr));
+      buf.append(", ");
+      buf.append("dstr2").append('=').append(String.valueOf(this.dstr2));
+      buf.append(", ");
+      buf.append("duration").append('=').append(String.valueOf(this.duration));
+      buf.append(", ");
+      buf.append("list").append('=').append(String.valueOf(this.list));
+      buf.append(", ");
+      buf.append("olist").append('=').append(String.valueOf(this.olist));
+      buf.append(", ");
+      buf.append("olist2").append('=').append(String.valueOf(this.olist2));
+      buf.append(", ");
+      buf.append("oset").append('=').append(String.valueOf(this.oset));
+      buf.append(", ");
+      buf.append("oset2").append('=').append(String.valueOf(this.oset2));
+      buf.append(", ");
+      buf.append("osort").append('=').append(String.valueOf(this.osort));
+      buf.append(", ");
+      buf.append("osort2").append('=').append(String.valueOf(this.osort2));
+      buf.append(", ");
+      buf.append("ostr").append('=').append(String.valueOf(this.ostr));
+      buf.append(", ");
+      buf.append("ostr1").append('=').append(String.valueOf(this.ostr1));
+      buf.append(", ");
+      buf.append("set").append('=').append(String.valueOf(this.set));
+      buf.append(", ");
+      buf.append("sort").append('=').append(String.valueOf(this.sort));
+      buf.append(", ");
+      buf.append("str").append('=').append(String.valueOf(this.str));
+      buf.append(", ");
+      buf.append("testconverter").append('=').append(String.valueOf(this.testconverter));
+      buf.append(']');
+      result = buf.toString();
+      $toString = result;
+    }
+    return result;
   }
 
   @Override
@@ -218,29 +306,30 @@ public final class Config_TestConfig implements TestConfig {
     if (o == this) return true;
     if (!(o instanceof Config_TestConfig)) return false;
     Config_TestConfig other = (Config_TestConfig) o;
-    if (!this.aaa().equals(other.aaa())) return false;
-    if (!this.dlist().equals(other.dlist())) return false;
-    if (!this.dlist2().equals(other.dlist2())) return false;
-    if (!this.dset().equals(other.dset())) return false;
-    if (!this.dset2().equals(other.dset2())) return false;
-    if (!this.dsort().equals(other.dsort())) return false;
-    if (!this.dsort2().equals(other.dsort2())) return false;
-    if (!this.dstr().equals(other.dstr())) return false;
-    if (!this.dstr2().equals(other.dstr2())) return false;
-    if (!this.duration().equals(other.duration())) return false;
-    if (!this.list().equals(other.list())) return false;
-    if (!this.olist().equals(other.olist())) return false;
-    if (!this.olist2().equals(other.olist2())) return false;
-    if (!this.oset().equals(other.oset())) return false;
-    if (!this.oset2().equals(other.oset2())) return false;
-    if (!this.osort().equals(other.osort())) return false;
-    if (!this.osort2().equals(other.osort2())) return false;
-    if (!this.ostr().equals(other.ostr())) return false;
-    if (!this.ostr1().equals(other.ostr1())) return false;
-    if (!this.set().equals(other.set())) return false;
-    if (!this.sort().equals(other.sort())) return false;
-    if (!this.str().equals(other.str())) return false;
-    if (!this.testconverter().equals(other.testconverter())) return false;
+    if ($hashCode != 0 && other.$hashCode != 0 && $hashCode != other.$hashCode) return false;
+    if (!Objects.equals(this.aaa, other.aaa)) return false;
+    if (!Objects.equals(this.dlist, other.dlist)) return false;
+    if (!Objects.equals(this.dlist2, other.dlist2)) return false;
+    if (!Objects.equals(this.dset, other.dset)) return false;
+    if (!Objects.equals(this.dset2, other.dset2)) return false;
+    if (!Objects.equals(this.dsort, other.dsort)) return false;
+    if (!Objects.equals(this.dsort2, other.dsort2)) return false;
+    if (!Objects.equals(this.dstr, other.dstr)) return false;
+    if (!Objects.equals(this.dstr2, other.dstr2)) return false;
+    if (!Objects.equals(this.duration, other.duration)) return false;
+    if (!Objects.equals(this.list, other.list)) return false;
+    if (!Objects.equals(this.olist, other.olist)) return false;
+    if (!Objects.equals(this.olist2, other.olist2)) return false;
+    if (!Objects.equals(this.oset, other.oset)) return false;
+    if (!Objects.equals(this.oset2, other.oset2)) return false;
+    if (!Objects.equals(this.osort, other.osort)) return false;
+    if (!Objects.equals(this.osort2, other.osort2)) return false;
+    if (!Objects.equals(this.ostr, other.ostr)) return false;
+    if (!Objects.equals(this.ostr1, other.ostr1)) return false;
+    if (!Objects.equals(this.set, other.set)) return false;
+    if (!Objects.equals(this.sort, other.sort)) return false;
+    if (!Objects.equals(this.str, other.str)) return false;
+    if (!Objects.equals(this.testconverter, other.testconverter)) return false;
     return true;
   }
 }
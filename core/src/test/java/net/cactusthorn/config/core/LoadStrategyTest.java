@@ -22,7 +22,10 @@ package net.cactusthorn.config.core;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.logging.Handler;
 import java.util.logging.Level;
@@ -34,9 +37,27 @@ import org.junit.jupiter.api.Test;
 
 import net.cactusthorn.config.core.loader.ConfigHolder;
 import net.cactusthorn.config.core.loader.LoadStrategy;
+import net.cactusthorn.config.core.loader.Loader;
 
 public class LoadStrategyTest {
 
+    private static final List<URI> LOADED = new ArrayList<>();
+
+    public static final class RecordingLoader implements Loader {
+        @Override public boolean accept(URI uri) {
+            return "recording".equals(uri.getScheme());
+        }
+
+        @Override public Map<String, String> load(URI uri, ClassLoader classLoader) {
+            LOADED.add(uri);
+            Map<String, String> result = new HashMap<>();
+            if (!"empty".equals(uri.getSchemeSpecificPart())) {
+                result.put("source", uri.getSchemeSpecificPart());
+            }
+            return result;
+        }
+    }
+
     @BeforeAll static void setUpLogger() {
         Logger rootLogger = LogManager.getLogManager().getLogger("");
         rootLogger.setLevel(Level.FINE);
@@ -124,4 +145,20 @@ public class LoadStrategyTest {
         assertThrows(IllegalArgumentException.class,
                 () -> ConfigFactory.builder().setLoadStrategy(LoadStrategy.UNKNOWN).build().create(TestConfig.class));
     }
+
+    @Test public void firstStopsLoading() {
+        LOADED.clear();
+        ConfigHolder holder = ConfigFactory.builder().addLoader(RecordingLoader.class).setLoadStrategy(LoadStrategy.FIRST)
+                .addSourceNoCache("recording:empty", "recording:one", "recording:two").build().configHolder();
+        assertEquals("one", holder.getString("source"));
+        assertEquals(2, LOADED.size());
+    }
+
+    @Test public void mergeLoadsAll() {
+        LOADED.clear();
+        ConfigHolder holder = ConfigFactory.builder().addLoader(RecordingLoader.class)
+                .addSourceNoCache("recording:empty", "recording:one", "recording:two").build().configHolder();
+        assertEquals("one", holder.getString("source"));
+        assertEquals(3, LOADED.size());
+    }
 }
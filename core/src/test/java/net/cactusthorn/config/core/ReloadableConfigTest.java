@@ -0,0 +1,101 @@
+/*
+* Copyright (C) 2021, Alexei Khatskevich
+*
+* Licensed under the BSD 3-Clause license.
+* You may obtain a copy of the License at
+*
+* https://github.com/Gmugra/net.cactusthorn.config/blob/main/LICENSE
+*
+* THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+* AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+* IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+* DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+* FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+* DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+* CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+* OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+* OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.cactusthorn.config.core;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ReloadableConfigTest {
+
+    private static void write(Path file, String value) throws IOException {
+        String content = "test.string=" + value + "\ntest.list=A\ntest.set=A\ntest.sort=A\n";
+        Files.write(file, content.getBytes(UTF_8));
+    }
+
+    @Test public void reload(@TempDir Path path) throws IOException, InterruptedException {
+        Path file = path.resolve("reload.properties");
+        write(file, "FIRST");
+        ConfigFactory factory = ConfigFactory.builder().addSource(file.toUri()).build();
+        try (ReloadableConfig<TestConfig> config = factory.createReloadable(TestConfig.class)) {
+            assertEquals("FIRST", config.get().str());
+
+            CountDownLatch reloaded = new CountDownLatch(1);
+            AtomicReference<TestConfig> published = new AtomicReference<>();
+            config.addListener(c -> {
+                published.set(c);
+                reloaded.countDown();
+            });
+            write(file, "SECOND");
+
+            assertTrue(reloaded.await(30, TimeUnit.SECONDS));
+            assertEquals("SECOND", published.get().str());
+            assertSame(published.get(), config.get());
+        }
+    }
+
+    private static boolean watching() {
+        return Thread.getAllStackTraces().keySet().stream().anyMatch(t -> "config-watcher".equals(t.getName()) && t.isAlive());
+    }
+
+    @Test public void closeStopsWatching(@TempDir Path path) throws IOException, InterruptedException {
+        Path file = path.resolve("close.properties");
+        write(file, "FIRST");
+        ConfigFactory factory = ConfigFactory.builder().addSource(file.toUri()).build();
+        ReloadableConfig<TestConfig> first = factory.createReloadable(TestConfig.class);
+        ReloadableConfig<TestConfig> second = factory.createReloadable(TestConfig.class);
+        assertTrue(watching());
+
+        first.close();
+        assertTrue(watching());
+
+        second.close();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (watching() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertFalse(watching());
+    }
+
+    @Test public void invalidChangeKeepsInstance(@TempDir Path path) throws IOException, InterruptedException {
+        Path file = path.resolve("invalid.properties");
+        write(file, "FIRST");
+        ConfigFactory factory = ConfigFactory.builder().addSource(file.toUri()).build();
+        try (ReloadableConfig<TestConfig> config = factory.createReloadable(TestConfig.class)) {
+            TestConfig first = config.get();
+            CountDownLatch reloaded = new CountDownLatch(1);
+            config.addListener(c -> reloaded.countDown());
+            // required test.list is missing
+            Files.write(file, "test.string=SECOND\n".getBytes(UTF_8));
+
+            assertFalse(reloaded.await(2, TimeUnit.SECONDS));
+            assertSame(first, config.get());
+        }
+    }
+}
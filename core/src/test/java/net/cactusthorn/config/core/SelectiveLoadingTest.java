@@ -0,0 +1,120 @@
+/*
+* Copyright (C) 2021, Alexei Khatskevich
+*
+* Licensed under the BSD 3-Clause license.
+* You may obtain a copy of the License at
+*
+* https://github.com/Gmugra/net.cactusthorn.config/blob/main/LICENSE
+*
+* THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+* AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+* IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+* DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+* FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+* DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+* CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+* OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+* OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.cactusthorn.config.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.cactusthorn.config.core.loader.ConfigHolder;
+import net.cactusthorn.config.core.loader.LoadStrategy;
+import net.cactusthorn.config.core.loader.Loader;
+import net.cactusthorn.config.core.loader.Loaders;
+
+public class SelectiveLoadingTest {
+
+    private static Set<String> requested;
+
+    public static final class KeysLoader implements Loader {
+        @Override public boolean accept(URI uri) {
+            return "keys".equals(uri.getScheme());
+        }
+
+        @Override public Map<String, String> load(URI uri, ClassLoader classLoader) {
+            Map<String, String> result = new HashMap<>();
+            result.put("test.string", "STR");
+            result.put("test.list", "A,B");
+            result.put("test.set", "A,B");
+            result.put("test.sort", "A,B");
+            result.put("unrelated", "X");
+            return result;
+        }
+
+        @Override public Map<String, String> load(URI uri, ClassLoader classLoader, Set<String> keys) {
+            requested = keys;
+            return load(uri, classLoader);
+        }
+    }
+
+    private static final ClassLoader CL = SelectiveLoadingTest.class.getClassLoader();
+    private static final Set<String> KEYS = new HashSet<>(Arrays.asList("test.string", "test.list", "missing"));
+
+    private static Loaders loaders() {
+        ArrayDeque<Loader> loaders = new ArrayDeque<>();
+        loaders.add(new KeysLoader());
+        return new Loaders(LoadStrategy.MERGE, new LinkedHashSet<>(), loaders, Collections.emptyMap());
+    }
+
+    @BeforeEach void reset() {
+        requested = null;
+    }
+
+    @Test public void generatedKeys() {
+        TestConfig config = ConfigFactory.builder().addLoader(KeysLoader.class).addSource("nocache:keys:a").build()
+                .create(TestConfig.class);
+        assertEquals("STR", config.str());
+        assertTrue(requested.contains("test.string"));
+        assertTrue(requested.contains("aaa"));
+        assertFalse(requested.contains("unrelated"));
+    }
+
+    @Test public void onlyKeys() {
+        ConfigHolder holder = loaders().load(CL, LoadStrategy.MERGE, new String[] {"keys:a"}, KEYS);
+        Map<String, String> expected = new HashMap<>();
+        expected.put("test.string", "STR");
+        expected.put("test.list", "A,B");
+        assertEquals(expected, holder.getProperties());
+        // cached source is shared, so it is not filtered by the loader
+        assertNull(requested);
+    }
+
+    @Test public void notCachedFiltered() {
+        loaders().load(CL, LoadStrategy.MERGE, new String[] {"nocache:keys:a"}, KEYS);
+        assertEquals(KEYS, requested);
+    }
+
+    @Test public void firstNotFiltered() {
+        ConfigHolder holder = loaders().load(CL, LoadStrategy.FIRST, new String[] {"nocache:keys:a"}, KEYS);
+        assertEquals(2, holder.getProperties().size());
+        assertNull(requested);
+    }
+
+    @Test public void caseInsensitive() {
+        Set<String> keys = Collections.singleton("TEST.STRING");
+        ConfigHolder holder = loaders().load(CL, LoadStrategy.MERGE_KEYCASEINSENSITIVE, new String[] {"keys:a"}, keys);
+        assertEquals(Collections.singletonMap("TEST.STRING", "STR"), holder.getProperties());
+    }
+
+    @Test public void allKeys() {
+        ConfigHolder holder = loaders().load(CL, LoadStrategy.MERGE, new String[] {"keys:a"});
+        assertEquals(5, holder.getProperties().size());
+    }
+}
@@ -0,0 +1,92 @@
+/*
+* Copyright (C) 2021, Alexei Khatskevich
+*
+* Licensed under the BSD 3-Clause license.
+* You may obtain a copy of the License at
+*
+* https://github.com/Gmugra/net.cactusthorn.config/blob/main/LICENSE
+*
+* THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+* AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+* IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+* DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+* FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+* DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+* CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+* OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+* OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.cactusthorn.config.core.loader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class CaseInsensitiveMapTest {
+
+    private static Map<String, String> map(String... keyValues) {
+        Map<String, String> result = new HashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            result.put(keyValues[i], keyValues[i + 1]);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked") private static Map<String, String> caseInsensitive(Map<String, String>... layers) {
+        return CaseInsensitiveMap.of(new ArrayList<>(Arrays.asList(layers)));
+    }
+
+    @SuppressWarnings("unchecked") @Test public void lookup() {
+        Map<String, String> map = caseInsensitive(map("App.Key", "1", "other", "2"));
+        assertEquals("1", map.get("app.key"));
+        assertEquals("1", map.get("APP.KEY"));
+        assertEquals("2", map.get("OTHER"));
+        assertNull(map.get("missing"));
+        assertNull(map.get(1));
+        assertTrue(map.containsKey("app.KEY"));
+        assertFalse(map.containsKey("app.key2"));
+    }
+
+    @SuppressWarnings("unchecked") @Test public void precedence() {
+        Map<String, String> map = caseInsensitive(map("KEY", "high"), map("key", "low", "Second", "low"));
+        assertEquals("high", map.get("Key"));
+        assertEquals("low", map.get("second"));
+        assertEquals(2, map.size());
+    }
+
+    @SuppressWarnings("unchecked") @Test public void originalKeys() {
+        Map<String, String> map = caseInsensitive(map("KEY", "high"), map("key", "low"));
+        assertEquals("key", map.keySet().iterator().next());
+        assertEquals(map("key", "high"), new HashMap<>(map));
+    }
+
+    @SuppressWarnings("unchecked") @Test public void localeIndependent() {
+        Map<String, String> map = caseInsensitive(map("title", "1"));
+        assertEquals("1", map.get("TITLE"));
+        assertEquals(String.CASE_INSENSITIVE_ORDER.compare("title", "TİTLE") == 0, map.containsKey("TİTLE"));
+    }
+
+    @SuppressWarnings("unchecked") @Test public void many() {
+        Map<String, String> source = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            source.put("Key" + i, String.valueOf(i));
+        }
+        Map<String, String> map = caseInsensitive(source);
+        assertEquals(1000, map.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(String.valueOf(i), map.get("KEY" + i));
+        }
+    }
+
+    @SuppressWarnings("unchecked") @Test public void immutable() {
+        Map<String, String> map = caseInsensitive(map("a", "1"));
+        assertThrows(UnsupportedOperationException.class, () -> map.put("b", "2"));
+        assertThrows(UnsupportedOperationException.class, () -> map.entrySet().iterator().next().setValue("3"));
+    }
+}
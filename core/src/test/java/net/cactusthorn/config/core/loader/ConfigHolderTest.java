@@ -51,6 +51,12 @@ public class ConfigHolderTest {
         properties.put("list", "f8c3de3d-1fea-4d7c-a8b0-29f63c4c3454,123e4567-e89b-12d3-a456-556642440000");
         properties.put("map", "A|10,B|20");
         properties.put("sortedMap", "A|50,B|60");
+        properties.put("ints", "1,2,3");
+        properties.put("longs", "100;200");
+        properties.put("doubles", "1.5,2.5");
+        properties.put("booleans", "true,false,true");
+        properties.put("chars", "A,B");
+        properties.put("strings", "X,Y,Z");
         holder = ConfigFactory.builder().setSource(properties).build().configHolder();
     }
 
@@ -70,6 +76,19 @@ public class ConfigHolderTest {
         assertEquals(10, holder.getOptionalInt("int").get());
     }
 
+    @Test public void getArrays() {
+        assertArrayEquals(new int[] {1, 2, 3}, holder.getIntArray("ints", ","));
+        assertArrayEquals(new int[] {5, 6}, holder.getIntArray("notExtsts", ",", "5,6"));
+        assertFalse(holder.getOptionalIntArray("notExtsts", ",").isPresent());
+        assertArrayEquals(new long[] {100L, 200L}, holder.getLongArray("longs", ";"));
+        assertArrayEquals(new long[] {100L, 200L}, holder.getOptionalLongArray("longs", ";").get());
+        assertArrayEquals(new double[] {1.5d, 2.5d}, holder.getDoubleArray("doubles", ","));
+        assertArrayEquals(new boolean[] {true, false, true}, holder.getBooleanArray("booleans", ","));
+        assertArrayEquals(new char[] {'A', 'B'}, holder.getCharArray("chars", ","));
+        assertArrayEquals(new String[] {"X", "Y", "Z"}, holder.getStringArray("strings", ","));
+        assertThrows(IllegalArgumentException.class, () -> holder.getStringArray("notExtsts", ","));
+    }
+
     @Test public void getShort() {
         assertEquals((short) 20, holder.getShort("short"));
         assertEquals((short) 10, holder.getShort("notExtsts", (short) 10));
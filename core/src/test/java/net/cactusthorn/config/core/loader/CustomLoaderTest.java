@@ -23,8 +23,11 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.net.URI;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
@@ -44,6 +47,25 @@ public class CustomLoaderTest {
         }
     }
 
+    public static final class SchemeLoader implements Loader {
+        static final AtomicInteger ACCEPT_CALLS = new AtomicInteger();
+
+        @Override public Set<String> schemes() {
+            return Collections.singleton("scheme");
+        }
+
+        @Override public boolean accept(URI uri) {
+            ACCEPT_CALLS.incrementAndGet();
+            return true;
+        }
+
+        @Override public Map<String, String> load(URI uri, ClassLoader classLoader) {
+            Map<String, String> result = new HashMap<>();
+            result.put("testKey", "FromSchemeLoader");
+            return result;
+        }
+    }
+
     static final class NotPublic implements Loader {
         @Override public boolean accept(URI uri) {
             return uri.toString().equals("system:properties");
@@ -85,4 +107,17 @@ public class CustomLoaderTest {
     @Test public void addLoaderClassNull() {
         assertThrows(IllegalArgumentException.class, () -> ConfigFactory.builder().addLoader((Class<? extends Loader>) null));
     }
+
+    @Test public void schemeIndex() {
+        SchemeLoader.ACCEPT_CALLS.set(0);
+        System.setProperty("testKey", "realValue");
+        ConfigFactory factory = ConfigFactory.builder().addLoader(SchemeLoader.class).addSourceNoCache("system:properties").build();
+        assertEquals("realValue", factory.configHolder().getString("testKey"));
+        assertEquals(0, SchemeLoader.ACCEPT_CALLS.get());
+
+        factory = ConfigFactory.builder().addLoader(SchemeLoader.class).addSourceNoCache("scheme:any").build();
+        assertEquals("FromSchemeLoader", factory.configHolder().getString("testKey"));
+        assertEquals("FromSchemeLoader", factory.configHolder().getString("testKey"));
+        assertEquals(1, SchemeLoader.ACCEPT_CALLS.get());
+    }
 }
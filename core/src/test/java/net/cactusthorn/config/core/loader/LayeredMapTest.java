@@ -0,0 +1,86 @@
+/*
+* Copyright (C) 2021, Alexei Khatskevich
+*
+* Licensed under the BSD 3-Clause license.
+* You may obtain a copy of the License at
+*
+* https://github.com/Gmugra/net.cactusthorn.config/blob/main/LICENSE
+*
+* THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+* AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+* IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+* DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+* FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+* DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+* CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+* OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+* OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.cactusthorn.config.core.loader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class LayeredMapTest {
+
+    private static Map<String, String> map(String... keyValues) {
+        Map<String, String> result = new HashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            result.put(keyValues[i], keyValues[i + 1]);
+        }
+        return result;
+    }
+
+    private static Map<String, String> layered(Map<String, String>... layers) {
+        return LayeredMap.of(new ArrayList<>(Arrays.asList(layers)));
+    }
+
+    @SuppressWarnings("unchecked") @Test public void precedence() {
+        Map<String, String> map = layered(map("a", "1"), map("a", "2", "b", "2"), map("b", "3", "c", "3"));
+        assertEquals("1", map.get("a"));
+        assertEquals("2", map.get("b"));
+        assertEquals("3", map.get("c"));
+        assertNull(map.get("d"));
+        assertTrue(map.containsKey("c"));
+        assertFalse(map.containsKey("d"));
+        assertEquals(3, map.size());
+        assertEquals(new HashSet<>(Arrays.asList("a", "b", "c")), map.keySet());
+    }
+
+    @SuppressWarnings("unchecked") @Test public void flattened() {
+        Map<String, String> map = layered(map("a", "1"), map("a", "2", "b", "2"));
+        assertEquals(map("a", "1", "b", "2"), map);
+        assertEquals(map("a", "1", "b", "2").hashCode(), map.hashCode());
+        assertSame(map.entrySet(), map.entrySet());
+    }
+
+    @SuppressWarnings("unchecked") @Test public void immutable() {
+        Map<String, String> map = layered(map("a", "1"), map("b", "2"));
+        assertThrows(UnsupportedOperationException.class, () -> map.put("c", "3"));
+        assertThrows(UnsupportedOperationException.class, () -> map.clear());
+        assertThrows(UnsupportedOperationException.class, () -> map.keySet().remove("a"));
+    }
+
+    @SuppressWarnings("unchecked") @Test public void emptyLayers() {
+        assertTrue(layered(Collections.emptyMap(), Collections.emptyMap()).isEmpty());
+        Map<String, String> single = map("a", "1");
+        Map<String, String> map = layered(Collections.emptyMap(), single);
+        assertFalse(map instanceof LayeredMap);
+        assertEquals(single, map);
+    }
+
+    @Test public void noLayers() {
+        List<Map<String, String>> layers = new ArrayList<>();
+        assertTrue(LayeredMap.of(layers).isEmpty());
+    }
+}
@@ -0,0 +1,122 @@
+/*
+* Copyright (C) 2021, Alexei Khatskevich
+*
+* Licensed under the BSD 3-Clause license.
+* You may obtain a copy of the License at
+*
+* https://github.com/Gmugra/net.cactusthorn.config/blob/main/LICENSE
+*
+* THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+* AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+* IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+* DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+* FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+* DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+* CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+* OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+* OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.cactusthorn.config.core.loader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import net.cactusthorn.config.core.loader.standard.MappedFilePropertiesLoader;
+
+public class MappedFilePropertiesLoaderTest {
+
+    private static final Loader LOADER = new MappedFilePropertiesLoader();
+    private static final ClassLoader CL = MappedFilePropertiesLoaderTest.class.getClassLoader();
+
+    @BeforeAll static void setUpLogger() {
+        Logger rootLogger = LogManager.getLogManager().getLogger("");
+        rootLogger.setLevel(Level.FINE);
+        // switch off default Handlers to do not get anything in console
+        for (Handler h : rootLogger.getHandlers()) {
+            h.setLevel(Level.OFF);
+        }
+    }
+
+    @Test public void accept() {
+        assertTrue(LOADER.accept(URI.create("file:./a.properties")));
+        assertTrue(LOADER.accept(URI.create("file:///C:/a.properties")));
+    }
+
+    @Test public void notAccept() {
+        assertFalse(LOADER.accept(URI.create("file:./a.xml")));
+        assertFalse(LOADER.accept(URI.create("https://github.com/a.properties")));
+        assertFalse(LOADER.accept(URI.create("classpath:a.properties")));
+    }
+
+    @Test public void load(@TempDir Path path) throws IOException {
+        Path file = path.resolve("test.properties");
+        try (InputStream stream = CL.getResourceAsStream("test.properties")) {
+            Files.copy(stream, file);
+        }
+        Map<String, String> properties = LOADER.load(file.toUri(), CL);
+        assertEquals("bbb", properties.get("aaa"));
+    }
+
+    @Test public void loadFragment(@TempDir Path path) throws IOException, URISyntaxException {
+        Path file = path.resolve("test.properties");
+        Files.write(file, "a=\u00e4\u00f6\u00fc".getBytes(StandardCharsets.ISO_8859_1));
+        URI uri = file.toUri();
+        uri = new URI(uri.getScheme(), uri.getSchemeSpecificPart(), "ISO-8859-1");
+        assertEquals("\u00e4\u00f6\u00fc", LOADER.load(uri, CL).get("a"));
+    }
+
+    @Test public void sameAsProperties(@TempDir Path path) throws IOException {
+        StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            buf.append("# comment ").append(i).append('\n');
+            buf.append("key\\ ").append(i).append(" = value\\u0041 \u20ac ").append(i).append("\\\n    next\n");
+        }
+        buf.append("key\\ 1=duplicate\n");
+        buf.append("last");
+        Path file = path.resolve("big.properties");
+        Files.write(file, buf.toString().getBytes(StandardCharsets.UTF_8));
+
+        Properties properties = new Properties();
+        properties.load(new StringReader(buf.toString()));
+        Map<String, String> expected = new HashMap<>();
+        properties.stringPropertyNames().forEach(k -> expected.put(k, properties.getProperty(k)));
+
+        Map<String, String> loaded = LOADER.load(file.toUri(), CL);
+        assertEquals("valueA \u20ac 500next", loaded.get("key 500"));
+        assertEquals("duplicate", loaded.get("key 1"));
+        assertEquals("", loaded.get("last"));
+        assertNull(loaded.get("key 1000"));
+        assertEquals(expected, loaded);
+        assertEquals(expected, new HashMap<>(loaded));
+    }
+
+    @Test public void empty(@TempDir Path path) throws IOException {
+        Path file = path.resolve("empty.properties");
+        Files.write(file, new byte[0]);
+        assertTrue(LOADER.load(file.toUri(), CL).isEmpty());
+    }
+
+    @Test public void notExists(@TempDir Path path) {
+        assertTrue(LOADER.load(path.resolve("nothing.properties").toUri(), CL).isEmpty());
+    }
+}
@@ -0,0 +1,127 @@
+/*
+* Copyright (C) 2021, Alexei Khatskevich
+*
+* Licensed under the BSD 3-Clause license.
+* You may obtain a copy of the License at
+*
+* https://github.com/Gmugra/net.cactusthorn.config/blob/main/LICENSE
+*
+* THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+* AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+* IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+* DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+* FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+* DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+* CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+* OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+* OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.cactusthorn.config.core.loader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import net.cactusthorn.config.core.ConfigFactory;
+
+public class ParallelLoadingTest {
+
+    // "delay:<millis>/<value>" : property "key" with the value, loaded after the delay
+    public static final class DelayLoader implements Loader {
+        static final CountDownLatch INTERRUPTED = new CountDownLatch(1);
+
+        @Override public boolean accept(URI uri) {
+            return "delay".equals(uri.getScheme());
+        }
+
+        @Override public Map<String, String> load(URI uri, ClassLoader classLoader) {
+            String[] parts = uri.getSchemeSpecificPart().split("/");
+            try {
+                Thread.sleep(Long.parseLong(parts[0]));
+            } catch (InterruptedException e) {
+                // as the real loaders do: I/O is interrupted, the source is empty
+                INTERRUPTED.countDown();
+                Thread.currentThread().interrupt();
+                return Collections.emptyMap();
+            }
+            Map<String, String> result = new HashMap<>();
+            result.put("key", parts[1]);
+            result.put(parts[1], parts[1]);
+            return result;
+        }
+    }
+
+    private static ExecutorService executor;
+
+    @BeforeAll static void setUp() {
+        executor = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterAll static void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test public void precedence() {
+        ConfigHolder holder = ConfigFactory.builder().addLoader(DelayLoader.class).setParallelLoading(executor)
+                .addSourceNoCache("delay:200/first", "delay:0/second", "delay:100/third").build().configHolder();
+        assertEquals("first", holder.getString("key"));
+        assertEquals("second", holder.getString("second"));
+        assertEquals("third", holder.getString("third"));
+    }
+
+    @Test public void first() {
+        ConfigHolder holder = ConfigFactory.builder().addLoader(DelayLoader.class).setParallelLoading()
+                .setLoadStrategy(LoadStrategy.FIRST).addSourceNoCache("delay:100/first", "delay:0/second").build().configHolder();
+        assertEquals("first", holder.getString("key"));
+        assertFalse(holder.getOptionalString("second").isPresent());
+    }
+
+    @Test public void timeout() {
+        ConfigHolder holder = ConfigFactory.builder().addLoader(DelayLoader.class).setParallelLoading(executor)
+                .setSourceTimeout(Duration.ofMillis(300)).addSourceNoCache("delay:5000/slow", "delay:0/fast").build().configHolder();
+        assertEquals("fast", holder.getString("key"));
+        assertFalse(holder.getOptionalString("slow").isPresent());
+    }
+
+    @Test public void timeoutCancelsLoading() throws InterruptedException {
+        ConfigFactory.builder().addLoader(DelayLoader.class).setParallelLoading().setSourceTimeout(Duration.ofMillis(100))
+                .addSourceNoCache("delay:60000/slow", "delay:0/fast").build().configHolder();
+        assertTrue(DelayLoader.INTERRUPTED.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test public void timeoutCachedSource() throws InterruptedException {
+        ConfigFactory factory = ConfigFactory.builder().addLoader(DelayLoader.class).setParallelLoading(executor)
+                .setSourceTimeout(Duration.ofMillis(100)).addSource("delay:500/cached").addSourceNoCache("delay:0/fast").build();
+        assertFalse(factory.configHolder().getOptionalString("cached").isPresent());
+        // the timed out load of the cached source is not interrupted: the source is available when the load completes
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!factory.configHolder().getOptionalString("cached").isPresent()) {
+            assertTrue(System.currentTimeMillis() < deadline);
+            Thread.sleep(50);
+        }
+    }
+
+    @Test public void nullExecutor() {
+        assertThrows(IllegalArgumentException.class, () -> ConfigFactory.builder().setParallelLoading(null));
+    }
+
+    @Test public void nullTimeout() {
+        assertThrows(IllegalArgumentException.class, () -> ConfigFactory.builder().setSourceTimeout(null));
+    }
+}
@@ -0,0 +1,203 @@
+/*
+* Copyright (C) 2021, Alexei Khatskevich
+*
+* Licensed under the BSD 3-Clause license.
+* You may obtain a copy of the License at
+*
+* https://github.com/Gmugra/net.cactusthorn.config/blob/main/LICENSE
+*
+* THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+* AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+* IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+* DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+* FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+* DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+* CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+* OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+* OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.cactusthorn.config.core.loader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+public class SourceCacheTest {
+
+    private static final URI A = URI.create("test:a");
+    private static final URI B = URI.create("test:b");
+    private static final URI C = URI.create("test:c");
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final List<URI> removed = new ArrayList<>();
+
+    private final Function<URI, Map<String, String>> loader = uri -> {
+        Map<String, String> result = new HashMap<>();
+        result.put("uri", uri.toString());
+        result.put("load", String.valueOf(loads.incrementAndGet()));
+        return result;
+    };
+
+    private SourceCache cache(CachePolicy policy) {
+        return new SourceCache(policy, Runnable::run, removed::add);
+    }
+
+    @Test public void hitAndMiss() {
+        SourceCache cache = cache(CachePolicy.unbounded());
+        Map<String, String> first = cache.get(A, loader);
+        assertSame(first, cache.get(A, loader));
+        assertEquals(1, loads.get());
+        CacheStats stats = cache.stats();
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+        assertEquals(0, stats.evictionCount());
+        assertEquals(1, stats.size());
+    }
+
+    @Test public void maximumSize() {
+        SourceCache cache = cache(CachePolicy.unbounded().maximumSize(2));
+        cache.get(A, loader);
+        cache.get(B, loader);
+        cache.get(A, loader);
+        cache.get(C, loader);
+        assertNotNull(cache.peek(A));
+        assertNull(cache.peek(B));
+        assertNotNull(cache.peek(C));
+        assertEquals(1, cache.stats().evictionCount());
+        assertEquals(Collections.singletonList(B), removed);
+    }
+
+    @Test public void maximumWeight() {
+        SourceCache cache = cache(CachePolicy.unbounded().maximumWeight(4));
+        cache.get(A, loader);
+        cache.get(B, loader);
+        cache.get(C, loader);
+        assertNull(cache.peek(A));
+        assertEquals(2, cache.stats().size());
+    }
+
+    @Test public void expireAfterWrite() {
+        SourceCache cache = cache(CachePolicy.unbounded().expireAfterWrite(Duration.ZERO));
+        Map<String, String> first = cache.get(A, loader);
+        assertNull(cache.peek(A));
+        assertNotSame(first, cache.get(A, loader));
+        assertEquals(2, loads.get());
+    }
+
+    @Test public void refreshAfterWrite() {
+        SourceCache cache = cache(CachePolicy.unbounded().refreshAfterWrite(Duration.ZERO));
+        Map<String, String> first = cache.get(A, loader);
+        // refresh is started by the hit, old value is returned
+        assertSame(first, cache.getIfPresent(A));
+        assertEquals("2", cache.peek(A).get("load"));
+        assertEquals(Collections.singletonList(A), removed);
+    }
+
+    @Test public void previousValue() {
+        SourceCache cache = cache(CachePolicy.unbounded().expireAfterWrite(Duration.ZERO));
+        List<Map<String, String>> previous = new ArrayList<>();
+        BiFunction<URI, Map<String, String>, Map<String, String>> reloader = (uri, value) -> {
+            previous.add(value);
+            return loader.apply(uri);
+        };
+        Map<String, String> first = cache.get(A, reloader);
+        cache.get(A, reloader);
+        cache.invalidate(A);
+        cache.get(A, reloader);
+        // the value of the expired entry is given to the loader, but not the invalidated one
+        assertEquals(Arrays.asList(null, first, null), previous);
+    }
+
+    @Test public void invalidate() {
+        SourceCache cache = cache(CachePolicy.unbounded());
+        cache.get(A, loader);
+        cache.get(B, loader);
+        cache.invalidate(A);
+        assertNull(cache.peek(A));
+        assertNotNull(cache.peek(B));
+        cache.invalidateAll();
+        assertEquals(0, cache.stats().size());
+    }
+
+    @Test public void invalidatedDuringLoad() {
+        SourceCache cache = cache(CachePolicy.unbounded());
+        Map<String, String> value = cache.get(A, uri -> {
+            Map<String, String> result = loader.apply(uri);
+            cache.invalidate(A);
+            return result;
+        });
+        // the caller gets the loaded value, but it's not cached
+        assertEquals("1", value.get("load"));
+        assertNull(cache.peek(A));
+        assertEquals("2", cache.get(A, loader).get("load"));
+    }
+
+    @Test public void peekUsedIsNotHit() {
+        SourceCache cache = cache(CachePolicy.unbounded());
+        Map<String, String> first = cache.get(A, loader);
+        assertSame(first, cache.peekUsed(A));
+        assertEquals(0, cache.stats().hitCount());
+    }
+
+    @Test public void wrongPolicy() {
+        assertThrows(IllegalArgumentException.class, () -> CachePolicy.unbounded().maximumSize(-1));
+        assertThrows(IllegalArgumentException.class, () -> CachePolicy.unbounded().maximumWeight(-1));
+        assertThrows(IllegalArgumentException.class, () -> CachePolicy.unbounded().expireAfterWrite(null));
+        assertThrows(IllegalArgumentException.class, () -> CachePolicy.unbounded().refreshAfterWrite(null));
+    }
+
+    @Test public void singleFlight() throws Exception {
+        SourceCache cache = cache(CachePolicy.unbounded());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<URI, Map<String, String>> slow = uri -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return loader.apply(uri);
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Map<String, String>> first = executor.submit(() -> cache.get(A, slow));
+            started.await();
+            Future<Map<String, String>> second = executor.submit(() -> cache.get(A, slow));
+            // other URIs are not blocked by the load in progress
+            assertEquals("test:b", cache.get(B, loader).get("uri"));
+            release.countDown();
+            assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+            assertEquals(2, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test public void failedLoadNotCached() {
+        SourceCache cache = cache(CachePolicy.unbounded());
+        assertThrows(IllegalStateException.class, () -> cache.get(A, uri -> {
+            throw new IllegalStateException();
+        }));
+        assertNull(cache.peek(A));
+        assertEquals("1", cache.get(A, loader).get("load"));
+    }
+}
@@ -62,4 +62,12 @@ public class UriTemplateTest {
         assertFalse(template.cachable());
         assertEquals(URI.create("system:properties"), template.uri());
     }
+
+    @Test public void variable() {
+        System.setProperty("uriTemplateTest", "properties");
+        Loaders.UriTemplate template = new Loaders.UriTemplate("system:{uriTemplateTest}{uriTemplateTestNotExists}", true);
+        assertEquals(URI.create("system:properties"), template.uri());
+        System.setProperty("uriTemplateTest", "env");
+        assertEquals(URI.create("system:env"), template.uri());
+    }
 }
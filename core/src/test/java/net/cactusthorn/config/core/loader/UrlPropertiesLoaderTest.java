@@ -23,10 +23,16 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.logging.Handler;
 import java.util.logging.Level;
@@ -38,6 +44,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.io.TempDir;
 
+import com.sun.net.httpserver.HttpServer;
+
 import net.cactusthorn.config.core.loader.standard.UrlPropertiesLoader;
 
 public class UrlPropertiesLoaderTest {
@@ -102,4 +110,60 @@ public class UrlPropertiesLoaderTest {
         Map<String, String> properties = LOADER.load(URI.create("file:./a.properties"), CL);
         assertTrue(properties.isEmpty());
     }
+
+    private static HttpServer server(String validator, String value, List<Integer> responses) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/test.properties", exchange -> {
+            String expected = "ETag".equals(validator) ? "If-None-Match" : "If-Modified-Since";
+            exchange.getResponseHeaders().add(validator, value);
+            if (value.equals(exchange.getRequestHeaders().getFirst(expected))) {
+                responses.add(304);
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                responses.add(200);
+                byte[] body = "aaa=bbb".getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+            exchange.close();
+        });
+        server.start();
+        return server;
+    }
+
+    private static URI uri(HttpServer server) {
+        return URI.create("http://localhost:" + server.getAddress().getPort() + "/test.properties");
+    }
+
+    @Test public void notModifiedETag() throws IOException {
+        List<Integer> responses = new ArrayList<>();
+        HttpServer server = server("ETag", "\"v1\"", responses);
+        try {
+            Loader loader = new UrlPropertiesLoader();
+            Map<String, String> first = loader.load(uri(server), CL);
+            Map<String, String> second = loader.reload(uri(server), CL, first);
+            assertEquals("bbb", second.get("aaa"));
+            assertSame(first, second);
+            // the loader itself is stateless: plain load is never conditional
+            assertNotSame(first, loader.load(uri(server), CL));
+            assertEquals(Arrays.asList(200, 304, 200), responses);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test public void notModifiedLastModified() throws IOException {
+        List<Integer> responses = new ArrayList<>();
+        HttpServer server = server("Last-Modified", "Wed, 21 Oct 2015 07:28:00 GMT", responses);
+        try {
+            Loader loader = new UrlPropertiesLoader();
+            Map<String, String> first = loader.load(uri(server), CL);
+            assertSame(first, loader.reload(uri(server), CL, first));
+            assertEquals(Arrays.asList(200, 304), responses);
+        } finally {
+            server.stop(0);
+        }
+    }
 }
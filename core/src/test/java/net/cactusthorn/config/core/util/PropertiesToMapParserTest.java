@@ -0,0 +1,165 @@
+/*
+* Copyright (C) 2021, Alexei Khatskevich
+*
+* Licensed under the BSD 3-Clause license.
+* You may obtain a copy of the License at
+*
+* https://github.com/Gmugra/net.cactusthorn.config/blob/main/LICENSE
+*
+* THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+* AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+* IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+* DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+* FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+* DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+* CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+* OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+* OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.cactusthorn.config.core.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class PropertiesToMapParserTest {
+
+    private static final PropertiesToMapParser PARSER = new PropertiesToMapParser();
+
+    private static Map<String, String> expected(byte[] bytes, Charset charset) throws IOException {
+        Properties properties = new Properties();
+        properties.load(new InputStreamReader(new ByteArrayInputStream(bytes), charset));
+        Map<String, String> result = new HashMap<>();
+        properties.stringPropertyNames().forEach(k -> result.put(k, properties.getProperty(k)));
+        return result;
+    }
+
+    private static void assertConformance(String content, Charset charset) throws IOException {
+        byte[] bytes = content.getBytes(charset);
+        assertEquals(expected(bytes, charset), PARSER.parse(new ByteArrayInputStream(bytes), charset));
+    }
+
+    @ParameterizedTest //
+    @ValueSource(strings = { //
+            "", //
+            "a=b", //
+            "a=b\nc=d\n", //
+            "a=b\r\nc=d\r\n", //
+            "a=b\rc=d\r", //
+            "a:b", //
+            "a b", //
+            "a\tb", //
+            "a\fb", //
+            "a = b", //
+            "a  =  = b", //
+            "a : : b", //
+            "a", //
+            "a=", //
+            "   a=b   ", //
+            "\t\f a=b", //
+            "=b", //
+            ":b", //
+            "#comment\na=b", //
+            "!comment\na=b", //
+            "   # comment\na=b", //
+            "a=b#not a comment", //
+            "#comment \\\na=b", //
+            "a=b\\\n   c", //
+            "a=b\\\r\n   c", //
+            "a=b\\\r   c", //
+            "a=b\\\n#c", //
+            "a=b\\\n\nc=d", //
+            "a=b\\\\\nc=d", //
+            "a=b\\\\\\\nc", //
+            "a=b\\", //
+            "a=b\\\\", //
+            "\\\na=b", //
+            "a\\=b=c", //
+            "a\\:b:c", //
+            "a\\ b c", //
+            "a\\\\=b", //
+            "a=\\t\\n\\r\\f\\b\\x", //
+            "a=\\u0041\\u00e9\\u00E9", //
+            "\\u0041=b", //
+            "a=b\na=c", //
+            "a=b\n\n\n   \n\t\nc=d", //
+            "a=ä ö ü €", //
+            "ключ=значение", //
+            "a=😀", //
+            "\uFEFFa=b" })
+    public void conformance(String content) throws IOException {
+        assertConformance(content, StandardCharsets.UTF_8);
+        if (StandardCharsets.ISO_8859_1.newEncoder().canEncode(content)) {
+            assertConformance(content, StandardCharsets.ISO_8859_1);
+        }
+        assertEquals(expected(content.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8), PARSER.parse(new StringReader(content)));
+    }
+
+    @Test public void otherCharset() throws IOException {
+        assertConformance("a=b\nключ=значение", Charset.forName("UTF-16"));
+    }
+
+    @Test public void longLines() throws IOException {
+        StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            buf.append("key").append(i).append('=').append("value\\u0041").append(i).append("\\\n  ").append(i).append('\n');
+        }
+        buf.append("long=");
+        for (int i = 0; i < 100_000; i++) {
+            buf.append('x');
+        }
+        assertConformance(buf.toString(), StandardCharsets.UTF_8);
+    }
+
+    @Test public void malformedUtf8() throws IOException {
+        byte[] bytes = { 'a', '=', (byte) 0xC3, 'b', (byte) 0xFF, (byte) 0xE2, (byte) 0x82, 'c' };
+        assertEquals(expected(bytes, StandardCharsets.UTF_8), PARSER.parse(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8));
+    }
+
+    @Test public void malformedUnicodeEscape() {
+        assertThrows(IllegalArgumentException.class, () -> PARSER.parse(new StringReader("a=\\u00")));
+        assertThrows(IllegalArgumentException.class, () -> PARSER.parse(new StringReader("a=\\u00zz")));
+    }
+
+    @Test public void onlyKeys() throws IOException {
+        byte[] bytes = "a=1\nb=2\nc=\\u0043\n".getBytes(StandardCharsets.UTF_8);
+        Set<String> keys = new HashSet<>(Arrays.asList("a", "c", "d"));
+        Map<String, String> expected = new HashMap<>();
+        expected.put("a", "1");
+        expected.put("c", "C");
+        assertEquals(expected, PARSER.parse(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8, keys));
+        assertEquals(expected, PARSER.parse(ByteBuffer.wrap(bytes), StandardCharsets.UTF_8, keys));
+    }
+
+    @Test public void malformedNotSelected() {
+        byte[] bytes = "a=1\nb=\\u00zz\n".getBytes(StandardCharsets.UTF_8);
+        Set<String> keys = Collections.singleton("a");
+        assertThrows(IllegalArgumentException.class, () -> PARSER.parse(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8));
+        assertThrows(IllegalArgumentException.class, () -> PARSER.parse(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8, keys));
+        assertThrows(IllegalArgumentException.class, () -> PARSER.parse(ByteBuffer.wrap(bytes), StandardCharsets.UTF_8));
+        assertThrows(IllegalArgumentException.class, () -> PARSER.parse(ByteBuffer.wrap(bytes), StandardCharsets.UTF_8, keys));
+    }
+
+    @Test public void unmodifiable() throws IOException {
+        Map<String, String> map = PARSER.parse(new StringReader("a=b"));
+        assertThrows(UnsupportedOperationException.class, () -> map.put("c", "d"));
+    }
+}
@@ -83,4 +83,13 @@ public class VariablesParserTest {
         Exception e = assertThrows(IllegalArgumentException.class, () -> new VariablesParser(template).replace(Collections.emptyMap()));
         assertEquals(msg(WRONG_SOURCE_PARAM, 11, template), e.getMessage());
     }
+
+    @Test public void resolve() {
+        assertEquals("aaaBccc", new VariablesParser("a{AA}aa{1bbb1}ccc").resolve(v -> "1bbb1".equals(v) ? "B" : null));
+    }
+
+    @Test public void hasVariables() {
+        assertTrue(new VariablesParser("a{AA}").hasVariables());
+        assertFalse(new VariablesParser("aAA").hasVariables());
+    }
 }
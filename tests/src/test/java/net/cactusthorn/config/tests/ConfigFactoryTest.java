@@ -20,16 +20,21 @@
 package net.cactusthorn.config.tests;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.ServiceLoader;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import net.cactusthorn.config.core.ConfigFactory;
+import net.cactusthorn.config.core.util.ConfigRegistry;
 
 public class ConfigFactoryTest {
 
@@ -62,6 +67,14 @@ public class ConfigFactoryTest {
         assertEquals(300f, it.next());
     }
 
+    @Test public void registry() {
+        boolean found = false;
+        for (ConfigRegistry registry : ServiceLoader.load(ConfigRegistry.class)) {
+            found |= registry.factories().containsKey(AllCorrect.class);
+        }
+        assertTrue(found);
+    }
+
     @Test public void accessibleKeys() {
         assertEquals(11, config.keys().size());
         assertThrows(UnsupportedOperationException.class, () -> config.keys().clear());
@@ -71,9 +84,23 @@ public class ConfigFactoryTest {
         assertEquals("simpleString", config.get("value"));
     }
 
+    @Test public void accessibleGetPrimitive() {
+        assertEquals(124, config.get("intValue"));
+        assertEquals('Y', config.get("myChar"));
+    }
+
+    @Test public void accessibleGetNotExists() {
+        assertNull(config.get("notExists"));
+    }
+
     @Test public void accessibleAsMap() {
         assertEquals(11, config.asMap().size());
         assertEquals("simpleString", config.asMap().get("value"));
         assertThrows(UnsupportedOperationException.class, () -> config.asMap().clear());
     }
+
+    @Test public void accessibleAsMapCached() {
+        assertSame(config.asMap(), config.asMap());
+        assertSame(config.keys(), config.keys());
+    }
 }
@@ -0,0 +1,82 @@
+/*
+* Copyright (C) 2021, Alexei Khatskevich
+*
+* Licensed under the BSD 3-Clause license.
+* You may obtain a copy of the License at
+*
+* https://github.com/Gmugra/net.cactusthorn.config/blob/main/LICENSE
+*
+* THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+* AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+* IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+* DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+* FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+* DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+* CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+* OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+* OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.cactusthorn.config.tests.array;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import net.cactusthorn.config.core.ConfigFactory;
+
+public class ConfigArrayTest {
+
+    private static Map<String, String> properties;
+    private static ConfigArray config;
+
+    @BeforeAll static void setUp() {
+        properties = new HashMap<>();
+        properties.put("ints", "1,2,3");
+        properties.put("longs", "10;20");
+        properties.put("booleans", "true,false");
+        properties.put("chars", "A,B,C");
+        properties.put("strings", "X,Y");
+        properties.put("optionalInts", "7,8");
+        config = ConfigFactory.builder().setSource(properties).build().create(ConfigArray.class);
+    }
+
+    @Test public void values() {
+        assertArrayEquals(new int[] {1, 2, 3}, config.ints());
+        assertArrayEquals(new long[] {10L, 20L}, config.longs());
+        assertArrayEquals(new double[] {1.5d, 2.5d}, config.doubles());
+        assertArrayEquals(new boolean[] {true, false}, config.booleans());
+        assertArrayEquals(new char[] {'A', 'B', 'C'}, config.chars());
+        assertArrayEquals(new String[] {"X", "Y"}, config.strings());
+        assertArrayEquals(new int[] {7, 8}, config.optionalInts().get());
+        assertFalse(config.notExists().isPresent());
+    }
+
+    @Test public void defensiveCopy() {
+        int[] ints = config.ints();
+        ints[0] = 100;
+        assertEquals(1, config.ints()[0]);
+        assertNotSame(config.optionalInts().get(), config.optionalInts().get());
+        assertNotSame(config.strings(), config.get("strings"));
+        ((int[]) config.asMap().get("ints"))[0] = 100;
+        assertEquals(1, ((int[]) config.asMap().get("ints"))[0]);
+    }
+
+    @Test public void equalsAndHashCode() {
+        ConfigArray other = ConfigFactory.builder().setSource(properties).build().create(ConfigArray.class);
+        assertEquals(config, other);
+        assertEquals(config.hashCode(), other.hashCode());
+    }
+
+    @Test public void string() {
+        assertEquals("[booleans=[true, false], chars=[A, B, C], doubles=[1.5, 2.5], ints=[1, 2, 3], longs=[10, 20], "
+                + "notExists=Optional.empty, optionalInts=Optional[[7, 8]], strings=[X, Y]]", config.toString());
+    }
+}
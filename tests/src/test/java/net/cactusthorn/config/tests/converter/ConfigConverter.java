@@ -22,6 +22,7 @@ package net.cactusthorn.config.tests.converter;
 import java.net.URL;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import net.cactusthorn.config.core.Config;
 import net.cactusthorn.config.core.Default;
@@ -35,4 +36,6 @@ import net.cactusthorn.config.core.converter.standard.URLConverter;
     @ConverterClass(URLConverter.class) Optional<URL> ourl();
 
     @ConverterClass(URLConverter.class) Optional<List<URL>> list();
+
+    @ConverterClass(URLConverter.class) Optional<Set<URL>> set();
 }
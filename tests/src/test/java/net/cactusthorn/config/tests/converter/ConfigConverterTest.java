@@ -20,6 +20,7 @@
 package net.cactusthorn.config.tests.converter;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
 import java.net.MalformedURLException;
 import java.net.URL;
@@ -59,4 +60,32 @@ public class ConfigConverterTest {
         ConfigConverter config = ConfigFactory.builder().build().create(ConfigConverter.class);
         assertEquals(new URL("https://github.com"), config.url());
     }
+
+    @Test public void equalsByExternalForm() {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("url", "http://unresolvable.invalid/a");
+        properties.put("list", "http://unresolvable.invalid/b,http://unresolvable.invalid/c");
+        ConfigConverter config = ConfigFactory.builder().setSource(properties).build().create(ConfigConverter.class);
+        ConfigConverter other = ConfigFactory.builder().setSource(properties).build().create(ConfigConverter.class);
+        assertEquals(config, other);
+        assertEquals(config.hashCode(), other.hashCode());
+
+        properties.put("url", "http://unresolvable.invalid/A");
+        ConfigConverter changed = ConfigFactory.builder().setSource(properties).build().create(ConfigConverter.class);
+        assertNotEquals(config, changed);
+    }
+
+    @Test public void setEqualsByExternalForm() {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("set", "http://unresolvable.invalid/b,http://unresolvable.invalid/c");
+        ConfigConverter config = ConfigFactory.builder().setSource(properties).build().create(ConfigConverter.class);
+        properties.put("set", "http://unresolvable.invalid/c,http://unresolvable.invalid/b");
+        ConfigConverter other = ConfigFactory.builder().setSource(properties).build().create(ConfigConverter.class);
+        assertEquals(config, other);
+        assertEquals(config.hashCode(), other.hashCode());
+
+        properties.put("set", "http://unresolvable.invalid/b,http://unresolvable.invalid/C");
+        ConfigConverter changed = ConfigFactory.builder().setSource(properties).build().create(ConfigConverter.class);
+        assertNotEquals(config, changed);
+    }
 }
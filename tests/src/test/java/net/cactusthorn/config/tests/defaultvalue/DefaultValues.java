@@ -19,13 +19,18 @@
 */
 package net.cactusthorn.config.tests.defaultvalue;
 
+import java.net.URI;
+import java.time.Duration;
+import java.time.Period;
 import java.util.List;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.concurrent.TimeUnit;
 
 import net.cactusthorn.config.core.Config;
 import net.cactusthorn.config.core.Default;
 import net.cactusthorn.config.core.Split;
+import net.cactusthorn.config.core.converter.bytesize.ByteSize;
 
 @Config interface DefaultValues {
 
@@ -36,4 +41,20 @@ import net.cactusthorn.config.core.Split;
     @Default("A:B:B") @Split(":") Set<String> set();
 
     @Default("B:B:C:C:B") @Split(":") SortedSet<String> sorted();
+
+    @Default("100") int number();
+
+    @Default("2.5") Double boxed();
+
+    @Default("XYZ") char symbol();
+
+    @Default("30s") Duration duration();
+
+    @Default("P1D") Period period();
+
+    @Default("10MB") ByteSize size();
+
+    @Default("SECONDS") TimeUnit unit();
+
+    @Default("https://github.com") URI uri();
 }
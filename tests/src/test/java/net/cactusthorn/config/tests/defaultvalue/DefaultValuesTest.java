@@ -21,10 +21,19 @@ package net.cactusthorn.config.tests.defaultvalue;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.net.URI;
+import java.time.Duration;
+import java.time.Period;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import net.cactusthorn.config.core.ConfigFactory;
+import net.cactusthorn.config.core.converter.bytesize.ByteSize;
+import net.cactusthorn.config.core.converter.bytesize.ByteSizeUnit;
 
 public class DefaultValuesTest {
 
@@ -53,4 +62,26 @@ public class DefaultValuesTest {
         assertEquals(2, config.sorted().size());
         assertEquals("B", config.sorted().iterator().next());
     }
+
+    @Test public void converted() {
+        assertEquals(100, config.number());
+        assertEquals(2.5d, config.boxed());
+        assertEquals('X', config.symbol());
+        assertEquals(Duration.ofSeconds(30), config.duration());
+        assertEquals(Period.ofDays(1), config.period());
+        assertEquals(new ByteSize(10, ByteSizeUnit.MEGABYTES), config.size());
+        assertEquals(TimeUnit.SECONDS, config.unit());
+        assertEquals(URI.create("https://github.com"), config.uri());
+    }
+
+    @Test public void overridden() {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("number", "5");
+        properties.put("duration", "1m");
+        properties.put("unit", "DAYS");
+        DefaultValues overridden = ConfigFactory.builder().setSource(properties).build().create(DefaultValues.class);
+        assertEquals(5, overridden.number());
+        assertEquals(Duration.ofMinutes(1), overridden.duration());
+        assertEquals(TimeUnit.DAYS, overridden.unit());
+    }
 }
@@ -0,0 +1,60 @@
+/*
+* Copyright (C) 2021, Alexei Khatskevich
+*
+* Licensed under the BSD 3-Clause license.
+* You may obtain a copy of the License at
+*
+* https://github.com/Gmugra/net.cactusthorn.config/blob/main/LICENSE
+*
+* THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+* AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+* IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+* DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+* FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+* DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+* CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+* OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+* OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.cactusthorn.config.tests.hashcode;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import net.cactusthorn.config.core.ConfigFactory;
+
+public class LazyHashCodeTest {
+
+    private static Map<String, String> properties;
+    private static LazyHashCode config;
+
+    @BeforeAll static void setUp() {
+        properties = new HashMap<>();
+        properties.put("number", "10");
+        properties.put("symbol", "X");
+        properties.put("list", "A,B");
+        config = ConfigFactory.builder().setSource(properties).build().create(LazyHashCode.class);
+    }
+
+    @Test public void hashCodeValue() {
+        assertEquals(Objects.hash(config.list(), Optional.empty(), 10, 'X'), config.hashCode());
+        assertEquals(config.hashCode(), config.hashCode());
+        LazyHashCode other = ConfigFactory.builder().setSource(properties).build().create(LazyHashCode.class);
+        assertEquals(other.hashCode(), config.hashCode());
+        assertEquals(other, config);
+    }
+
+    @Test public void toStringCached() {
+        assertEquals("[list=[A, B], notExists=Optional.empty, number=10, symbol=X]", config.toString());
+        assertSame(config.toString(), config.toString());
+    }
+}
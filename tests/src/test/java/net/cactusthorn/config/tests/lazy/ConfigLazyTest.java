@@ -0,0 +1,111 @@
+/*
+* Copyright (C) 2021, Alexei Khatskevich
+*
+* Licensed under the BSD 3-Clause license.
+* You may obtain a copy of the License at
+*
+* https://github.com/Gmugra/net.cactusthorn.config/blob/main/LICENSE
+*
+* THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+* AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+* IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+* DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+* FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+* DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+* CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+* OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+* OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.cactusthorn.config.tests.lazy;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.cactusthorn.config.core.ConfigFactory;
+
+public class ConfigLazyTest {
+
+    private Map<String, String> properties;
+
+    @BeforeEach void setUp() {
+        CountingConverter.CALLS.set(0);
+        properties = new HashMap<>();
+        properties.put("counted", "42");
+        properties.put("number", "10");
+        properties.put("list", "A,B");
+        properties.put("ints", "1,2,3");
+        properties.put("eager", "E");
+    }
+
+    @Test public void convertedOnFirstAccess() {
+        ConfigLazy config = ConfigFactory.builder().setSource(properties).build().create(ConfigLazy.class);
+        assertEquals(0, CountingConverter.CALLS.get());
+        assertEquals(42, config.counted());
+        assertEquals(42, config.counted());
+        assertEquals(1, CountingConverter.CALLS.get());
+    }
+
+    @Test public void values() {
+        ConfigLazy config = ConfigFactory.builder().setSource(properties).build().create(ConfigLazy.class);
+        assertEquals(10, config.number());
+        assertEquals(5, config.withDefault());
+        assertEquals(Arrays.asList("A", "B"), config.list());
+        assertArrayEquals(new int[] {1, 2, 3}, config.ints());
+        assertEquals("E", config.eager());
+    }
+
+    @Test public void requiredCheckedOnCreate() {
+        properties.remove("number");
+        ConfigFactory factory = ConfigFactory.builder().setSource(properties).build();
+        assertThrows(IllegalArgumentException.class, () -> factory.create(ConfigLazy.class));
+    }
+
+    @Test public void wrongValueFailsOnAccess() {
+        properties.put("number", "abc");
+        ConfigLazy config = ConfigFactory.builder().setSource(properties).build().create(ConfigLazy.class);
+        assertThrows(NumberFormatException.class, config::number);
+    }
+
+    @Test public void equalsAndToString() {
+        ConfigLazy config = ConfigFactory.builder().setSource(properties).build().create(ConfigLazy.class);
+        ConfigLazy other = ConfigFactory.builder().setSource(properties).build().create(ConfigLazy.class);
+        assertEquals(other, config);
+        assertEquals(other.hashCode(), config.hashCode());
+        assertEquals("[counted=42, eager=E, ints=[1, 2, 3], list=[A, B], number=10, withDefault=5]", config.toString());
+    }
+
+    @Test public void serialization() throws IOException, ClassNotFoundException {
+        ConfigLazy config = ConfigFactory.builder().setSource(properties).build().create(ConfigLazy.class);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(config);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals(config, in.readObject());
+        }
+    }
+
+    @Test public void lazyType() {
+        properties.put("number", "100");
+        ConfigLazyType config = ConfigFactory.builder().setSource(properties).build().create(ConfigLazyType.class);
+        assertEquals(100L, config.number());
+        assertFalse(config.text().isPresent());
+        assertEquals(Optional.empty(), config.text());
+    }
+}
@@ -17,21 +17,18 @@
 * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
 * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 */
-package net.cactusthorn.config.compiler.configgenerator;
+package net.cactusthorn.config.tests.lazy;
 
-import javax.lang.model.element.Modifier;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import com.squareup.javapoet.FieldSpec;
-import com.squareup.javapoet.TypeSpec;
+import net.cactusthorn.config.core.converter.Converter;
 
-import net.cactusthorn.config.compiler.Generator;
-import net.cactusthorn.config.compiler.GeneratorPart;
+public class CountingConverter implements Converter<Integer> {
 
-final class ValuesFieldPart implements GeneratorPart {
+    static final AtomicInteger CALLS = new AtomicInteger();
 
-    @Override public void addPart(TypeSpec.Builder classBuilder, Generator generator) {
-        FieldSpec fieldSpec = FieldSpec.builder(CONCURRENTHASHMAP_STRING_OBJECT, VALUES_ATTR, Modifier.PRIVATE, Modifier.FINAL)
-                .initializer("new ConcurrentHashMap<>()").build();
-        classBuilder.addField(fieldSpec);
+    @Override public Integer convert(String value, String[] parameters) {
+        CALLS.incrementAndGet();
+        return Integer.valueOf(value);
     }
 }
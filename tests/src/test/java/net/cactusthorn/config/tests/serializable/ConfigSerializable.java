@@ -0,0 +1,65 @@
+/*
+* Copyright (C) 2021, Alexei Khatskevich
+*
+* Licensed under the BSD 3-Clause license.
+* You may obtain a copy of the License at
+*
+* https://github.com/Gmugra/net.cactusthorn.config/blob/main/LICENSE
+*
+* THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+* AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+* IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+* DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+* FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+* DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+* CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+* OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+* OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.cactusthorn.config.tests.serializable;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import net.cactusthorn.config.core.Config;
+import net.cactusthorn.config.core.Default;
+import net.cactusthorn.config.core.Lazy;
+
+@Config public interface ConfigSerializable extends Serializable {
+
+    long serialVersionUID = 5L;
+
+    enum Level {
+        LOW, HIGH
+    }
+
+    int number();
+
+    @Default("true") boolean flag();
+
+    char symbol();
+
+    String text();
+
+    Level level();
+
+    Duration timeout();
+
+    List<UUID> ids();
+
+    long[] longs();
+
+    Optional<String[]> strings();
+
+    Optional<Integer> notExists();
+
+    Optional<String> optionalText();
+
+    @Lazy double lazyDouble();
+
+    @Lazy Optional<List<String>> lazyList();
+}
@@ -0,0 +1,131 @@
+/*
+* Copyright (C) 2021, Alexei Khatskevich
+*
+* Licensed under the BSD 3-Clause license.
+* You may obtain a copy of the License at
+*
+* https://github.com/Gmugra/net.cactusthorn.config/blob/main/LICENSE
+*
+* THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+* AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+* IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+* DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+* FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+* DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+* CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+* OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+* OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.cactusthorn.config.tests.serializable;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import net.cactusthorn.config.core.ConfigFactory;
+
+public class ConfigSerializableTest {
+
+    private static final String UUID_VALUE = "46400000-8cc0-11bd-b43e-10d46e4ef14d";
+
+    private static ConfigSerializable config(String text) {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("number", "10");
+        properties.put("symbol", "X");
+        properties.put("text", text);
+        properties.put("level", "HIGH");
+        properties.put("timeout", "5s");
+        properties.put("ids", UUID_VALUE);
+        properties.put("longs", "1,2,3");
+        properties.put("strings", "A,B");
+        properties.put("optionalText", "текст");
+        properties.put("lazyDouble", "1.5");
+        properties.put("lazyList", "C,D");
+        return ConfigFactory.builder().setSource(properties).build().create(ConfigSerializable.class);
+    }
+
+    private static byte[] write(ConfigSerializable config) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(config);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static ConfigSerializable read(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (ConfigSerializable) in.readObject();
+        }
+    }
+
+    private static ConfigSerializable copy(ConfigSerializable config) throws IOException, ClassNotFoundException {
+        return read(write(config));
+    }
+
+    @Test public void roundTrip() throws IOException, ClassNotFoundException {
+        ConfigSerializable config = config("simple");
+        ConfigSerializable copy = copy(config);
+        assertEquals(config, copy);
+        assertEquals(config.hashCode(), copy.hashCode());
+        assertEquals(config.toString(), copy.toString());
+        assertEquals(10, copy.number());
+        assertEquals('X', copy.symbol());
+        assertEquals(ConfigSerializable.Level.HIGH, copy.level());
+        assertEquals(Duration.ofSeconds(5), copy.timeout());
+        assertEquals(Arrays.asList(UUID.fromString(UUID_VALUE)), copy.ids());
+        assertArrayEquals(new long[] {1, 2, 3}, copy.longs());
+        assertArrayEquals(new String[] {"A", "B"}, copy.strings().get());
+        assertFalse(copy.notExists().isPresent());
+        assertEquals("текст", copy.optionalText().get());
+        assertEquals(1.5, copy.lazyDouble());
+        assertEquals(Arrays.asList("C", "D"), copy.lazyList().get());
+    }
+
+    @Test public void otherVersion() throws Exception {
+        ConfigSerializable config = config("simple");
+        Field field = config.getClass().getDeclaredField("FINGERPRINT");
+        field.setAccessible(true);
+        byte[] fingerprint = ByteBuffer.allocate(Long.BYTES).putLong(field.getLong(null)).array();
+        byte[] bytes = write(config);
+        int position = indexOf(bytes, fingerprint);
+        assertTrue(position >= 0);
+        // as if the data was written by the interface with other fields
+        bytes[position] ^= 1;
+        assertThrows(InvalidClassException.class, () -> read(bytes));
+    }
+
+    private static int indexOf(byte[] bytes, byte[] part) {
+        for (int i = 0; i + part.length <= bytes.length; i++) {
+            if (Arrays.equals(Arrays.copyOfRange(bytes, i, i + part.length), part)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Test public void longString() throws IOException, ClassNotFoundException {
+        char[] chars = new char[100_000];
+        Arrays.fill(chars, 'ж');
+        ConfigSerializable config = config(new String(chars));
+        assertEquals(config.text(), copy(config).text());
+    }
+}
@@ -30,6 +30,7 @@ import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
 
 import net.cactusthorn.config.core.loader.Loader;
@@ -41,6 +42,14 @@ public class ClasspathTOMLLoader implements Loader {
     private static final String SCHEME = "classpath";
     private static final String EXTENTION = ".toml";
 
+    @Override public Set<String> schemes() {
+        return Collections.singleton(SCHEME);
+    }
+
+    @Override public Set<String> extensions() {
+        return Collections.singleton(EXTENTION);
+    }
+
     @Override public boolean accept(URI uri) {
         return uri.isOpaque() && SCHEME.equals(uri.getScheme()) && uri.getSchemeSpecificPart().endsWith(EXTENTION);
     }